@@ -0,0 +1,31 @@
+package raisetech.studentmanagement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import raisetech.studentmanagement.data.CourseType;
+
+/**
+ * {@link CourseType#fromCourseName(String)}（コース名からコースへの変換）のベンチマークです。
+ * 登録・更新時に、コース情報1件ごとに呼び出されます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CourseTypeBenchmark {
+
+  private final String[] courseNames = {"Javaフルコース", "AWSフルコース", "WordPress副業コース",
+      "デザインコース", "Webマーケティングコース"};
+
+  @Benchmark
+  public void fromCourseName(Blackhole blackhole) {
+    for (String courseName : courseNames) {
+      blackhole.consume(CourseType.fromCourseName(courseName));
+    }
+  }
+}
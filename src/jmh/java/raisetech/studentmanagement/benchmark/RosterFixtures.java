@@ -0,0 +1,106 @@
+package raisetech.studentmanagement.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import raisetech.studentmanagement.data.CourseType;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * ベンチマーク用の受講生データを生成するクラスです。
+ * <p>
+ * 実データに近づけるため、氏名・ふりがな・市区町村名などは日本語の文字列を使用します。
+ * 同じ件数であれば毎回同じデータになるよう、乱数のシードを固定しています。<br>
+ * 受講生IDとメールアドレス以外の文字列は候補の中から選ぶため、件数が多くてもメモリ使用量を抑えられます。
+ */
+public final class RosterFixtures {
+
+  private static final String[] LAST_NAMES = {"山田", "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺",
+      "中村", "小林", "加藤"};
+  private static final String[] LAST_NAMES_KANA = {"やまだ", "さとう", "すずき", "たかはし", "たなか",
+      "いとう", "わたなべ", "なかむら", "こばやし", "かとう"};
+  private static final String[] FIRST_NAMES = {"太郎", "花子", "翔太", "陽菜", "大輝", "結衣", "蓮",
+      "美咲", "悠真", "さくら"};
+  private static final String[] FIRST_NAMES_KANA = {"たろう", "はなこ", "しょうた", "ひな", "だいき",
+      "ゆい", "れん", "みさき", "ゆうま", "さくら"};
+  private static final String[] MUNICIPALITIES = {"東京都渋谷区", "大阪市北区", "横浜市中区",
+      "名古屋市中村区", "札幌市中央区", "福岡市博多区", "京都市左京区", "神戸市中央区"};
+  private static final String[] OCCUPATIONS = {"会社員", "フリーランス", "学生", "公務員", "自営業"};
+  private static final String[] SEXES = {"male", "female", "non-binary", "other",
+      "prefer not to say"};
+  private static final String[] REMARKS = {"早めの転職希望", "Webマーケティングコースにも興味あり",
+      "平日夜のみ受講可能", null};
+
+  private static final LocalDate BASE_DATE = LocalDate.of(2025, 4, 1);
+
+  private RosterFixtures() {
+  }
+
+  /**
+   * 受講生詳細情報を生成します。
+   * 受講生1人あたり1〜3件のコース情報を持ち、約1割の受講生は論理削除済みとします。
+   *
+   * @param size 受講生の件数
+   * @return 受講生IDの昇順に並んだ受講生詳細情報のリスト
+   */
+  public static List<StudentDetail> studentDetails(int size) {
+    Random random = new Random(size);
+    CourseType[] courseTypes = CourseType.values();
+    List<StudentDetail> studentDetails = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      String studentId = String.format("%08d-0000-4000-8000-%012d", i, i);
+      int last = random.nextInt(LAST_NAMES.length);
+      int first = random.nextInt(FIRST_NAMES.length);
+
+      Student student = new Student(studentId,
+          LAST_NAMES[last] + " " + FIRST_NAMES[first],
+          LAST_NAMES_KANA[last] + " " + FIRST_NAMES_KANA[first],
+          FIRST_NAMES_KANA[first],
+          "090-1234-5678",
+          "student" + i + "@example.com",
+          MUNICIPALITIES[random.nextInt(MUNICIPALITIES.length)],
+          18 + random.nextInt(50),
+          SEXES[random.nextInt(SEXES.length)],
+          OCCUPATIONS[random.nextInt(OCCUPATIONS.length)],
+          REMARKS[random.nextInt(REMARKS.length)],
+          random.nextInt(10) == 0);
+
+      List<StudentCourse> courses = new ArrayList<>(3);
+      int courseCount = 1 + random.nextInt(3);
+      int offset = random.nextInt(courseTypes.length);
+      for (int c = 0; c < courseCount; c++) {
+        CourseType courseType = courseTypes[(offset + c) % courseTypes.length];
+        LocalDate start = BASE_DATE.plusDays(random.nextInt(365));
+        courses.add(new StudentCourse(courseType.getCourseId(), studentId,
+            courseType.getCourseName(), start, start.plusYears(1)));
+      }
+      courses.sort((a, b) -> a.getCourseId().compareTo(b.getCourseId()));
+
+      studentDetails.add(new StudentDetail(student, courses));
+    }
+    return studentDetails;
+  }
+
+  /**
+   * 受講生詳細情報から受講生情報のみを取り出します。
+   */
+  public static List<Student> students(List<StudentDetail> studentDetails) {
+    return studentDetails.stream().map(StudentDetail::getStudent).toList();
+  }
+
+  /**
+   * 受講生詳細情報から受講生コース情報のみを取り出します。
+   * データベースからの取得結果に近づけるため、受講生の並び順とは無関係な順序に並べ替えます。
+   */
+  public static List<StudentCourse> shuffledCourses(List<StudentDetail> studentDetails) {
+    List<StudentCourse> courses = new ArrayList<>();
+    studentDetails.forEach(studentDetail -> courses.addAll(studentDetail.getStudentsCourses()));
+    Collections.shuffle(courses, new Random(studentDetails.size()));
+    return courses;
+  }
+}
@@ -0,0 +1,49 @@
+package raisetech.studentmanagement.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.studentmanagement.controller.converter.StudentConverter;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * {@link StudentConverter#convertStudentDetails}（受講生情報と受講生コース情報の結合）のベンチマークです。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentConverterBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rosterSize;
+
+  private final StudentConverter converter = new StudentConverter();
+  private List<Student> students;
+  private List<StudentCourse> studentCourses;
+
+  @Setup
+  public void setUp() {
+    List<StudentDetail> studentDetails = RosterFixtures.studentDetails(rosterSize);
+    students = RosterFixtures.students(studentDetails);
+    studentCourses = RosterFixtures.shuffledCourses(studentDetails);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertSequential() {
+    return converter.convertStudentDetails(students, studentCourses, false);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertParallel() {
+    return converter.convertStudentDetails(students, studentCourses, true);
+  }
+}
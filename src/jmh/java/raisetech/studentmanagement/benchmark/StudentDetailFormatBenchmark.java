@@ -0,0 +1,125 @@
+package raisetech.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * {@code List<StudentDetail>}のレスポンス形式（JSON・CBOR・Smile）と、gzip圧縮の有無による比較のベンチマークです。
+ * 変換（と圧縮）にかかる時間を計測します。
+ * <p>
+ * 送信されるバイト数は、補助カウンター{@code wireBytes}（書き込んだバイト数の合計）と{@code writes}（書き込み回数）として
+ * 結果ファイルの{@code secondaryMetrics}に記録します。1回あたりのバイト数は{@code wireBytes / writes}で求めます。<br>
+ * ObjectMapperの設定は{@link StudentDetailSerializationBenchmark}と同じく、日付を文字列（ISO-8601形式）で出力します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailFormatBenchmark {
+
+  @Param({"1000", "100000"})
+  public int rosterSize;
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+
+  @Param({"false", "true"})
+  public boolean gzip;
+
+  private ObjectMapper objectMapper;
+  private List<StudentDetail> studentDetails;
+
+  @Setup
+  public void setUp() {
+    JsonFactory factory = switch (format) {
+      case "cbor" -> new CBORFactory();
+      case "smile" -> new SmileFactory();
+      default -> new JsonFactory();
+    };
+    objectMapper = new ObjectMapper(factory)
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    studentDetails = RosterFixtures.studentDetails(rosterSize);
+  }
+
+  @Benchmark
+  public void write(WireSize wireSize) throws IOException {
+    // バイト数を数えるだけで書き込んだ内容は破棄するため、計測への影響はnullOutputStreamと同程度
+    CountingOutputStream counter = new CountingOutputStream();
+    write(counter);
+    wireSize.wireBytes += counter.count;
+    wireSize.writes++;
+  }
+
+  private void write(OutputStream out) throws IOException {
+    if (!gzip) {
+      objectMapper.writeValue(out, studentDetails);
+      return;
+    }
+    // 圧縮の設定はTomcatのレスポンス圧縮（既定の圧縮レベル）に合わせる
+    try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8 * 1024)) {
+      objectMapper.writeValue(gzipOut, studentDetails);
+    }
+  }
+
+  /**
+   * 送信されるバイト数を、補助カウンターとして結果に記録するための状態です。
+   * 合計値として集計されるため、書き込み回数も合わせて記録し、その比で1回あたりのバイト数を求めます。
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WireSize {
+
+    public long wireBytes;
+
+    public long writes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      wireBytes = 0;
+      writes = 0;
+    }
+  }
+
+  /**
+   * 書き込まれたバイト数のみを数える出力先です。
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    private CountingOutputStream() {
+      super(OutputStream.nullOutputStream());
+    }
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
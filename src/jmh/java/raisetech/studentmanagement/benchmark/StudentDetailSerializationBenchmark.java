@@ -0,0 +1,49 @@
+package raisetech.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * {@code List<StudentDetail>}のJSON変換（Jackson）のベンチマークです。
+ * 一覧取得のレスポンス生成にかかる時間を計測します。
+ * <p>
+ * ObjectMapperは、Spring Bootの既定に合わせて日付を文字列（ISO-8601形式）で出力する設定にしています。
+ * 出力先は破棄するストリームとし、変換処理のみを計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailSerializationBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rosterSize;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private List<StudentDetail> studentDetails;
+
+  @Setup
+  public void setUp() {
+    studentDetails = RosterFixtures.studentDetails(rosterSize);
+  }
+
+  @Benchmark
+  public void writeJson() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), studentDetails);
+  }
+}
@@ -0,0 +1,65 @@
+package raisetech.studentmanagement.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.studentmanagement.benchmark.RosterFixtures;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * {@link StudentService}がスナップショット有効時に使用する、メモリ上での絞り込み処理のベンチマークです。
+ * <p>
+ * スナップショットはパッケージプライベートのため、同じパッケージに配置しています。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterSnapshotBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rosterSize;
+
+  private RosterSnapshot snapshot;
+  private String middleStudentId;
+  private Map<String, StudentDetail> replacement;
+  private StudentVersion version;
+
+  @Setup
+  public void setUp() {
+    List<StudentDetail> studentDetails = RosterFixtures.studentDetails(rosterSize);
+    version = new StudentVersion(1, null);
+    snapshot = RosterSnapshot.of(studentDetails, version);
+    middleStudentId = studentDetails.get(rosterSize / 2).getStudent().getStudentId();
+    replacement = Map.of(middleStudentId, studentDetails.get(rosterSize / 2));
+  }
+
+  @Benchmark
+  public List<StudentCourse> coursesByName() {
+    return snapshot.getStudentCourses("javaフルコース");
+  }
+
+  @Benchmark
+  public List<StudentDetail> notDeletedPageFromMiddle() {
+    return snapshot.getStudentDetailsAfter(false, middleStudentId, 100);
+  }
+
+  @Benchmark
+  public List<StudentCourse> coursesPageByNameFromMiddle() {
+    return snapshot.getStudentCoursesAfter("Javaフルコース", middleStudentId, "A000", 100);
+  }
+
+  @Benchmark
+  public RosterSnapshot replaceOneStudent() {
+    return snapshot.withStudentDetails(replacement, version);
+  }
+}
@@ -4,13 +4,16 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 受講生管理アプリケーションの起動クラスです。
  * Spring Bootによりアプリケーションを起動します。
  * OpenAPI (Swagger UI) による API ドキュメントの設定も行います。
+ * スナップショットの定期的な再読み込みなど、定期実行処理のためにスケジューリングを有効にしています。
  */
 @OpenAPIDefinition(info = @Info(title = "受講生管理システム"))
+@EnableScheduling
 @SpringBootApplication
 public class StudentManagementApplication {
 
@@ -0,0 +1,48 @@
+package raisetech.studentmanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * JSON以外のレスポンス形式（CBOR・Smile）の設定クラスです。
+ * <p>
+ * Acceptヘッダーに{@code application/cbor}または{@code application/x-jackson-smile}を指定すると、
+ * JSONと同じ項目をバイナリ形式で返します。文字列の引用符やエスケープ、項目名の繰り返しが不要になるため、
+ * 一覧取得のレスポンスサイズと変換処理の時間を減らせます。<br>
+ * Spring Bootが設定したJSON用のObjectMapperと同じ設定（日付の形式など）で変換するため、
+ * Spring Bootの{@link Jackson2ObjectMapperBuilder}から生成します。
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+  /**
+   * CBOR（RFC 8949）形式のレスポンスを返すためのHttpMessageConverterです。
+   *
+   * @param builder Spring Bootが設定したObjectMapperのビルダー
+   * @return CBOR形式のHttpMessageConverter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * Smile（JacksonのバイナリJSON）形式のレスポンスを返すためのHttpMessageConverterです。
+   *
+   * @param builder Spring Bootが設定したObjectMapperのビルダー
+   * @return Smile形式のHttpMessageConverter
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
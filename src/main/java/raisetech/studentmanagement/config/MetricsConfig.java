@@ -0,0 +1,57 @@
+package raisetech.studentmanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import raisetech.studentmanagement.service.StudentDetailCache;
+
+/**
+ * メトリクス（Micrometer）の設定クラスです。
+ * <p>
+ * HTTPリクエスト、JVM、コネクションプールのメトリクスはSpring Boot Actuatorにより自動で記録されます。
+ * このクラスでは、それ以外にアプリケーション独自で記録するメトリクスを設定します。
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * {@code @Timed}を付与したクラス・メソッドの処理時間を記録するためのAspectです。
+   *
+   * @param registry メトリクスの登録先
+   * @return TimedAspect
+   */
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  /**
+   * 受講生詳細情報(個別)のキャッシュの利用状況を、メトリクスとして公開します。
+   *
+   * @param cache 受講生詳細情報(個別)のキャッシュ
+   * @return キャッシュのメトリクスを登録するMeterBinder
+   */
+  @Bean
+  public MeterBinder studentDetailCacheMetrics(StudentDetailCache cache) {
+    return registry -> {
+      Gauge.builder("student.cache.size", cache, c -> c.getStats().size())
+          .description("受講生詳細情報(個別)のキャッシュの保持件数")
+          .register(registry);
+      FunctionCounter.builder("student.cache.requests", cache, c -> c.getStats().hits())
+          .tag("result", "hit")
+          .description("受講生詳細情報(個別)のキャッシュの参照件数")
+          .register(registry);
+      FunctionCounter.builder("student.cache.requests", cache, c -> c.getStats().misses())
+          .tag("result", "miss")
+          .description("受講生詳細情報(個別)のキャッシュの参照件数")
+          .register(registry);
+      FunctionCounter.builder("student.cache.evictions", cache, c -> c.getStats().evictions())
+          .description("上限超過または保持期間切れにより破棄した件数")
+          .register(registry);
+    };
+  }
+}
@@ -0,0 +1,91 @@
+package raisetech.studentmanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatisのSQL（マッパーのステートメント）ごとに、処理時間と件数をメトリクスとして記録するインターセプターです。
+ * <ul>
+ *   <li>{@code mybatis.statement}: 処理時間（ヒストグラム付き）。タグはステートメント名、SQLの種類、結果</li>
+ *   <li>{@code mybatis.statement.rows}: 取得件数（SELECT）または更新件数（INSERT/UPDATE）</li>
+ * </ul>
+ * カーソルで取得するステートメントは、カーソルを開くまでの時間のみを記録し、件数は記録しません。
+ * また、BATCHモードの更新は実行時に件数が確定しないため、件数は記録しません。
+ * <p>
+ * Beanとして登録すると、MyBatisの自動設定によりSqlSessionFactoryに組み込まれます。
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry registry;
+
+  public MyBatisMetricsInterceptor(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    // 「namespace.id」のうち、id（Repositoryのメソッド名）のみをタグにする
+    String id = mappedStatement.getId();
+    String statement = id.substring(id.lastIndexOf('.') + 1);
+    String command = mappedStatement.getSqlCommandType().name();
+
+    Timer.Sample sample = Timer.start(registry);
+    String outcome = "success";
+    try {
+      Object result = invocation.proceed();
+      recordRows(statement, command, result);
+      return result;
+    } catch (Throwable e) {
+      outcome = "error";
+      throw e;
+    } finally {
+      sample.stop(Timer.builder("mybatis.statement")
+          .description("MyBatisのステートメントの処理時間")
+          .tag("statement", statement)
+          .tag("command", command)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+  }
+
+  private void recordRows(String statement, String command, Object result) {
+    long rows;
+    if (result instanceof Collection<?> collection) {
+      rows = collection.size();
+    } else if (result instanceof Integer count && count >= 0) {
+      // BATCHモードでは負の値（件数未確定）が返るため、記録しない
+      rows = count;
+    } else {
+      return;
+    }
+    DistributionSummary.builder("mybatis.statement.rows")
+        .description("MyBatisのステートメントの取得件数・更新件数")
+        .baseUnit("rows")
+        .tag("statement", statement)
+        .tag("command", command)
+        .register(registry)
+        .record(rows);
+  }
+}
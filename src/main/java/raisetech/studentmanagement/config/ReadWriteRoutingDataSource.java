@@ -0,0 +1,55 @@
+package raisetech.studentmanagement.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 読み取り専用のトランザクションをレプリカに、それ以外をプライマリに振り分けるDataSourceです。
+ * <p>
+ * 振り分けは、{@code @Transactional(readOnly = true)}のトランザクション内かどうかで判定します。
+ * 次の場合はプライマリを使用します。
+ * <ul>
+ *   <li>書き込みを行うトランザクション内、またはトランザクション外（キャッシュや索引の再読み込みなど）の場合</li>
+ *   <li>書き込みのコミット直後の期間内の場合（{@link ReadYourWritesWindow}を参照）</li>
+ * </ul>
+ * トランザクションの開始時点では読み取り専用かどうかが未設定のため、
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}で包み、
+ * 最初のSQLの実行時に接続先を決定します。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * 接続先です。
+   */
+  public enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final ReadYourWritesWindow readYourWritesWindow;
+
+  /**
+   * コンストラクタ
+   *
+   * @param primary              プライマリのDataSource
+   * @param replica              レプリカのDataSource
+   * @param readYourWritesWindow 書き込み直後にプライマリから読み取る期間
+   */
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+      ReadYourWritesWindow readYourWritesWindow) {
+    this.readYourWritesWindow = readYourWritesWindow;
+    setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !readYourWritesWindow.isActive()) {
+      return Target.REPLICA;
+    }
+    return Target.PRIMARY;
+  }
+}
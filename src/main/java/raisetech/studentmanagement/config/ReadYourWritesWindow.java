@@ -0,0 +1,62 @@
+package raisetech.studentmanagement.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.studentmanagement.service.StudentsChangedEvent;
+
+/**
+ * 書き込みのコミット直後の一定期間、読み取りをプライマリで行うための期間を管理するコンポーネントです。
+ * {@code student.datasource.replica.enabled=true} の場合のみ有効になります。
+ * <p>
+ * レプリカへの反映には遅延があるため、登録・更新の直後にレプリカから取得すると、登録・更新前のデータが返る可能性があります。
+ * 登録・更新のコミット後、{@code student.datasource.read-your-writes-window}の期間は、
+ * 読み取り専用のトランザクションもプライマリから取得します（期間はレプリカの反映遅延より長く設定します）。<br>
+ * 期間はこのアプリケーション全体で共有します（登録・更新したクライアント以外の読み取りもプライマリになります）。
+ */
+@Component
+@ConditionalOnProperty(name = "student.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesWindow {
+
+  private final long windowNanos;
+
+  // プライマリから読み取る期限（System.nanoTime()の値）
+  private final AtomicLong primaryUntil;
+
+  public ReadYourWritesWindow(
+      @Value("${student.datasource.read-your-writes-window:2s}") Duration window) {
+    this.windowNanos = window.toNanos();
+    this.primaryUntil = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * 登録・更新のコミット後に、プライマリから読み取る期間を開始（延長）します。
+   *
+   * @param event 受講生詳細情報の登録・更新イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentsChanged(StudentsChangedEvent event) {
+    recordWrite();
+  }
+
+  /**
+   * 書き込みがコミットされたことを記録し、プライマリから読み取る期間を開始（延長）します。
+   */
+  public void recordWrite() {
+    long until = System.nanoTime() + windowNanos;
+    // 期限は後ろにのみ延ばす（nanoTimeの値は差で比較する）
+    primaryUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+  }
+
+  /**
+   * 現在が、書き込み直後のプライマリから読み取る期間内かどうかを返します。
+   *
+   * @return 期間内の場合はtrue
+   */
+  public boolean isActive() {
+    return System.nanoTime() - primaryUntil.get() < 0;
+  }
+}
@@ -0,0 +1,79 @@
+package raisetech.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * 読み取り専用のトランザクションをレプリカに振り分けるための、DataSourceの設定クラスです。
+ * {@code student.datasource.replica.enabled=true} の場合のみ有効になります。
+ * <p>
+ * プライマリは{@code spring.datasource.*}、レプリカは{@code student.datasource.replica.*}の設定で、
+ * それぞれコネクションプール（HikariCP）を作成します。
+ * アプリケーション（MyBatis・トランザクション管理）には、両者を振り分ける{@link ReadWriteRoutingDataSource}を
+ * {@link LazyConnectionDataSourceProxy}で包んだものを、既定のDataSourceとして提供します。
+ */
+@Configuration
+@ConditionalOnProperty(name = "student.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  /**
+   * プライマリのコネクションプールです。
+   *
+   * @param properties {@code spring.datasource.*}の設定
+   * @return プライマリのDataSource
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  /**
+   * レプリカのコネクションプールです。
+   * 設定項目はHikariCPの項目名（{@code jdbc-url}、{@code username}、{@code maximum-pool-size}など）で指定します。
+   *
+   * @return レプリカのDataSource
+   */
+  @Bean
+  @ConfigurationProperties("student.datasource.replica")
+  public HikariDataSource replicaDataSource() {
+    HikariDataSource dataSource = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  /**
+   * アプリケーションが使用する既定のDataSourceです。
+   *
+   * @param primaryDataSource    プライマリのDataSource
+   * @param replicaDataSource    レプリカのDataSource
+   * @param readYourWritesWindow 書き込み直後にプライマリから読み取る期間
+   * @return 読み取り専用のトランザクションをレプリカに振り分けるDataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      ReadYourWritesWindow readYourWritesWindow) {
+    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+        primaryDataSource, replicaDataSource, readYourWritesWindow);
+    routingDataSource.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+}
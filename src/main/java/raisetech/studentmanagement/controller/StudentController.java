@@ -1,11 +1,29 @@
 package raisetech.studentmanagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,15 +31,32 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
-import raisetech.studentmanagement.controller.converter.StudentConverter;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import raisetech.studentmanagement.controller.converter.StudentCsvWriter;
 import raisetech.studentmanagement.data.Student;
 import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.domain.BatchRegistrationResult;
+import raisetech.studentmanagement.domain.CursorPage;
+import raisetech.studentmanagement.domain.EnrollmentStats;
+import raisetech.studentmanagement.domain.ImportJobStatus;
+import raisetech.studentmanagement.domain.StudentChangeFeed;
 import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.domain.StudentLookupRequest;
+import raisetech.studentmanagement.domain.StudentLookupResult;
+import raisetech.studentmanagement.domain.VersionedStudentDetail;
 import raisetech.studentmanagement.exception.TestException;
+import raisetech.studentmanagement.service.StudentBatchService;
+import raisetech.studentmanagement.service.StudentChangeService;
+import raisetech.studentmanagement.service.StudentImportService;
 import raisetech.studentmanagement.service.StudentService;
+import raisetech.studentmanagement.service.StudentStatsService;
 
 /**
  * 受講生情報と受講生コース情報の取得・登録・更新などを行うREST APIのControllerクラスです。
@@ -32,19 +67,52 @@ import raisetech.studentmanagement.service.StudentService;
 @RestController
 public class StudentController {
 
+  /**
+   * 次のページのカーソルを返すレスポンスヘッダー名です。
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  // カーソルのみ指定され、件数が未指定の場合の1ページあたりの件数
+  private static final int DEFAULT_PAGE_LIMIT = 100;
+
+  /**
+   * NDJSON（1行に1件のJSON）形式のメディアタイプです。
+   */
+  public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+  // ストリーミング時に、何件ごとにクライアントへ送信（フラッシュ）するか
+  private static final int STREAM_FLUSH_INTERVAL = 500;
+
+  // エクスポート時の書き出し用・gzip圧縮用のバッファサイズ
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
   private final StudentService service;
-  private final StudentConverter converter;
+  private final StudentBatchService batchService;
+  private final StudentImportService importService;
+  private final StudentStatsService statsService;
+  private final StudentChangeService changeService;
+  private final ObjectMapper objectMapper;
 
   /**
    * コンストラクタ
    *
-   * @param service   受講生サービス
-   * @param converter 受講生コンバーター
+   * @param service       受講生サービス
+   * @param batchService  受講生一括登録サービス
+   * @param importService 受講生インポートサービス
+   * @param statsService  受講生集計サービス
+   * @param changeService 受講生の変更の取得サービス
+   * @param objectMapper  JSON変換に使用するObjectMapper
    */
   @Autowired
-  public StudentController(StudentService service, StudentConverter converter) {
+  public StudentController(StudentService service, StudentBatchService batchService,
+      StudentImportService importService, StudentStatsService statsService,
+      StudentChangeService changeService, ObjectMapper objectMapper) {
     this.service = service;
-    this.converter = converter;
+    this.batchService = batchService;
+    this.importService = importService;
+    this.statsService = statsService;
+    this.changeService = changeService;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -52,21 +120,42 @@ public class StudentController {
    * 受講生情報と受講生コース情報を合わせたものを取得します。
    * 論理削除済みの受講生を除きます。
    * <p>
-   * すべての受講生 (論理削除済みの受講生を含む) の情報を取得したい場合は {@code /students/details}
+   * 論理削除済みの受講生を含めて取得したい場合は {@code /students/details}
    * エンドポイントを使用してください。
    *
+   * <p>
+   * 件数（limit）またはカーソル（after）を指定した場合は、受講生IDの昇順で1ページ分のみ取得します。
+   * 次のページが存在する場合は、{@value #NEXT_CURSOR_HEADER}ヘッダーに次のページのカーソルを設定します。
+   * <p>
+   * 受講生情報全体のバージョンをETagとして返し、If-None-Matchヘッダーの値と一致する場合は304を返します。
+   *
+   * @param limit   1ページあたりの件数（未指定かつカーソルも未指定の場合は全件）
+   * @param after   前のページで返されたカーソル
+   * @param request 条件付きリクエストの判定に使用するリクエスト
    * @return 受講生詳細情報のリスト（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を除く）
    */
   @Operation(summary = "受講生詳細情報【一覧取得】(論理削除済みの受講生を除く) ",
       description = "受講生の詳細情報 (受講生情報と受講生コース情報) の一覧を取得します。論理削除済みの受講生を除きます。"
-          + "すべての受講生 (論理削除済みの受講生を含む) の情報を取得したい場合は、/students/details エンドポイントを使用してください。")
+          + "論理削除済みの受講生を含めて取得したい場合は、/students/details エンドポイントを使用してください。"
+          + "limit または after を指定すると、1ページ分のみ取得し、次のページのカーソルを X-Next-Cursor ヘッダーで返します。")
 
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "受講生詳細情報 (一覧・論理削除済みの受講生を除く) の取得に成功しました")})
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報 (一覧・論理削除済みの受講生を除く) の取得に成功しました"),
+      @ApiResponse(responseCode = "304", description = "前回の取得時から変更がありません"),
+      @ApiResponse(responseCode = "400", description = "件数またはカーソルの形式が不正です")})
 
   @GetMapping("/students")
-  public List<StudentDetail> getStudents() {
-    return service.getNotDeletedStudentsDetails();
+  public ResponseEntity<List<StudentDetail>> getStudents(
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer limit,
+      @RequestParam(required = false) String after, ServletWebRequest request) {
+
+    if (notModified(request, service.getRosterVersion())) {
+      return null;
+    }
+    if (limit == null && after == null) {
+      return ResponseEntity.ok(service.getNotDeletedStudentsDetails());
+    }
+    return toPageResponse(service.getStudentsDetailsPage(false, after, pageLimit(limit)));
   }
 
   /**
@@ -74,7 +163,13 @@ public class StudentController {
    * 受講生情報と受講生コース情報を合わせたものを取得します。
    * 対象は、指定した受講生IDに紐づく、受講生詳細情報です。論理削除済みの受講生を含みます。
    *
+   * <p>
+   * 受講生のバージョンをETagとして返し、If-None-Matchヘッダーの値と一致する場合は304を返します。
+   * バージョンは受講生詳細情報と同じクエリで取得したもの（キャッシュから返す場合は、キャッシュに保持したもの）を使用し、
+   * 返す受講生詳細情報とETagが必ず同じ時点のものになるようにします。
+   *
    * @param studentId 受講生ID
+   * @param request   条件付きリクエストの判定に使用するリクエスト
    * @return 指定した受講生IDの受講生詳細情報 (受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を含む)
    */
   @Operation(summary = "受講生詳細情報【個別取得】(論理削除済みの受講生を含む) ",
@@ -82,65 +177,356 @@ public class StudentController {
 
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "受講生詳細情報 (個別・論理削除済みの受講生を含む) の取得に成功しました"),
+      @ApiResponse(responseCode = "304", description = "前回の取得時から変更がありません"),
       @ApiResponse(responseCode = "404", description = "受講生IDが見つかりません")})
 
   @GetMapping("/students/{studentId}")
-  public ResponseEntity<StudentDetail> getStudentById(@PathVariable String studentId) {
-    StudentDetail studentDetail = service.getStudentDetailById(studentId);
+  public ResponseEntity<StudentDetail> getStudentById(@PathVariable String studentId,
+      ServletWebRequest request) {
+    VersionedStudentDetail studentDetail = service.getStudentDetailById(studentId);
+    if (notModified(request, studentDetail.getVersion())) {
+      return null;
+    }
 
-    return ResponseEntity.ok(studentDetail);
+    return ResponseEntity.ok(studentDetail.getStudentDetail());
   }
 
   /**
    * 受講生コース情報の一覧を取得します。
    * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
    * <p>
    * コース名を指定した場合、該当するコースのみを取得します。
    * コース名が未指定の場合は、すべての受講生コース情報を取得します。
+   * <p>
+   * 件数（limit）またはカーソル（after）を指定した場合は、（受講生ID, コースID）の昇順で1ページ分のみ取得します。
+   * 次のページが存在する場合は、{@value #NEXT_CURSOR_HEADER}ヘッダーに次のページのカーソルを設定します。
    *
    * @param courseName コース名
+   * @param limit      1ページあたりの件数（未指定かつカーソルも未指定の場合は全件）
+   * @param after      前のページで返されたカーソル
    * @return 受講生コース情報のリスト（コース名を指定した場合は該当コースのみ。論理削除済みの受講生を含む）
    */
   @Operation(summary = "受講生コース情報【一覧取得】(コース名指定可・論理削除済みの受講生を含む)",
       description = "受講生コース情報の一覧を取得します。コース名を指定することで、該当するコースのみ取得可能です。"
-          + "すべての受講生 (論理削除済みの受講生を含む) のコース情報を取得します。")
+          + "すべての受講生 (論理削除済みの受講生を含む) のコース情報を取得します。"
+          + "ただし、アーカイブ済みの受講生 (student.archive.enabled=true の場合に、論理削除から一定期間が経過してアーカイブされた受講生) は含みません。"
+          + "limit または after を指定すると、1ページ分のみ取得し、次のページのカーソルを X-Next-Cursor ヘッダーで返します。")
 
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "受講生コース情報 (一覧・論理削除済みの受講生を含む) の取得に成功しました")})
+      @ApiResponse(responseCode = "200", description = "受講生コース情報 (一覧・論理削除済みの受講生を含む) の取得に成功しました"),
+      @ApiResponse(responseCode = "400", description = "件数またはカーソルの形式が不正です")})
 
   @GetMapping("/courses")
   @ResponseBody
-  public List<StudentCourse> getCourses(
+  public ResponseEntity<List<StudentCourse>> getCourses(
+
+      @RequestParam(required = false) String courseName,
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer limit,
+      @RequestParam(required = false) String after) {
 
-      @RequestParam(required = false) String courseName) {
-    return service.getCourses(courseName);
+    if (limit == null && after == null) {
+      return ResponseEntity.ok(service.getCourses(courseName));
+    }
+    return toPageResponse(service.getCoursesPage(courseName, after, pageLimit(limit)));
   }
 
   /**
    * 受講生詳細情報の一覧を取得します。
    * 受講生情報と受講生コース情報を合わせたものを取得します。
    * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   * 個別取得（{@code /students/{studentId}}）では、アーカイブ済みの受講生も取得できます。
    * <p>
    * 論理削除済みの受講生を除いて取得したい場合は {@code /students} エンドポイントを使用してください。
+   * <p>
+   * 件数（limit）またはカーソル（after）を指定した場合は、受講生IDの昇順で1ページ分のみ取得します。
+   * 次のページが存在する場合は、{@value #NEXT_CURSOR_HEADER}ヘッダーに次のページのカーソルを設定します。
+   *
+   * <p>
+   * 受講生情報全体のバージョンをETagとして返し、If-None-Matchヘッダーの値と一致する場合は304を返します。
    *
+   * @param limit   1ページあたりの件数（未指定かつカーソルも未指定の場合は全件）
+   * @param after   前のページで返されたカーソル
+   * @param request 条件付きリクエストの判定に使用するリクエスト
    * @return 受講生詳細情報のリスト（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を含む）
    */
   @Operation(summary = "受講生詳細情報【一覧取得】(論理削除済みの受講生を含む)",
       description =
           "受講生の詳細情報 (受講生情報と受講生コース情報) の一覧を取得します。すべての受講生 (論理削除済みの受講生を含む) の詳細情報です。"
-              + "論理削除済みの受講生を除いて取得したい場合は、/students エンドポイントを使用してください。")
+              + "ただし、アーカイブ済みの受講生 (student.archive.enabled=true の場合に、論理削除から一定期間が経過してアーカイブされた受講生) は含みません。"
+              + "アーカイブ済みの受講生は /students/{studentId} で取得できます。"
+              + "論理削除済みの受講生を除いて取得したい場合は、/students エンドポイントを使用してください。"
+              + "limit または after を指定すると、1ページ分のみ取得し、次のページのカーソルを X-Next-Cursor ヘッダーで返します。")
 
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "受講生詳細情報 (一覧・論理削除済みの受講生を含む) の取得に成功しました")})
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報 (一覧・論理削除済みの受講生を含む) の取得に成功しました"),
+      @ApiResponse(responseCode = "304", description = "前回の取得時から変更がありません"),
+      @ApiResponse(responseCode = "400", description = "件数またはカーソルの形式が不正です")})
 
   @GetMapping("/students/details")
   @ResponseBody
-  public List<StudentDetail> searchStudents() {
+  public ResponseEntity<List<StudentDetail>> searchStudents(
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer limit,
+      @RequestParam(required = false) String after, ServletWebRequest request) {
+
+    if (notModified(request, service.getRosterVersion())) {
+      return null;
+    }
+
+    if (limit != null || after != null) {
+      return toPageResponse(service.getStudentsDetailsPage(null, after, pageLimit(limit)));
+    }
+
+    return ResponseEntity.ok(service.getStudentsDetails());
+  }
+
+  /**
+   * 受講生詳細情報の一覧を、ストリーミング形式で取得します。
+   * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。受講生IDの昇順で返します。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   * <p>
+   * 全件をメモリに読み込まずに、データベースから取得した順に1件ずつレスポンスへ書き出します。
+   * そのため、件数に関係なく一定のメモリで処理でき、クライアントは全件の取得完了を待たずに受信を開始できます。<br>
+   * 形式は、NDJSON（1行に1件のJSON。既定）またはJSON配列を選択できます。
+   *
+   * @param format 出力形式（ndjson または json）
+   * @return 受講生詳細情報を書き出すストリーミングレスポンス（論理削除済みの受講生を含む）
+   */
+  @Operation(summary = "受講生詳細情報【一覧取得・ストリーミング】(論理削除済みの受講生を含む)",
+      description = "受講生の詳細情報 (受講生情報と受講生コース情報) の一覧を、1件ずつストリーミング形式で取得します。"
+          + "すべての受講生 (論理削除済みの受講生を含む) の詳細情報です。"
+          + "ただし、アーカイブ済みの受講生 (student.archive.enabled=true の場合に、論理削除から一定期間が経過してアーカイブされた受講生) は含みません。"
+          + "format に ndjson (既定) または json を指定できます。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報 (一覧・論理削除済みの受講生を含む) の取得に成功しました")})
+
+  @GetMapping("/students/details/stream")
+  public ResponseEntity<StreamingResponseBody> streamStudents(
+      @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|json") String format) {
+
+    boolean ndjson = format.equals("ndjson");
+
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        if (!ndjson) {
+          generator.writeStartArray();
+        }
+
+        int[] count = {0};
+        service.streamStudentDetails(studentDetail -> {
+          try {
+            generator.writeObject(studentDetail);
+            if (ndjson) {
+              generator.writeRaw('\n');
+            }
+            if (++count[0] % STREAM_FLUSH_INTERVAL == 0) {
+              generator.flush();
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+
+        if (!ndjson) {
+          generator.writeEndArray();
+        }
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(ndjson
+            ? MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)
+            : MediaType.APPLICATION_JSON)
+        .body(body);
+  }
+
+  /**
+   * 受講生詳細情報の全件を、ファイルとしてエクスポートします。
+   * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。受講生IDの昇順で出力します。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   * <p>
+   * 形式は、CSV（受講生コース情報1件につき1行。既定）またはNDJSON（受講生詳細情報1件につき1行）を選択できます。<br>
+   * データベースからカーソルで取得した順にそのまま書き出すため、全件をメモリに読み込みません。
+   * リクエストのAccept-Encodingヘッダーでgzipを受け入れている場合は、gzip圧縮して返します。
+   *
+   * @param format         出力形式（csv または ndjson）
+   * @param acceptEncoding リクエストのAccept-Encodingヘッダー
+   * @return 受講生詳細情報を書き出すストリーミングレスポンス（論理削除済みの受講生を含む）
+   */
+  @Operation(summary = "受講生詳細情報【エクスポート】(論理削除済みの受講生を含む)",
+      description = "受講生の詳細情報 (受講生情報と受講生コース情報) の全件を、ファイルとしてエクスポートします。"
+          + "ただし、アーカイブ済みの受講生 (student.archive.enabled=true の場合に、論理削除から一定期間が経過してアーカイブされた受講生) は含みません。"
+          + "format に csv (既定・受講生コース情報1件につき1行) または ndjson を指定できます。"
+          + "Accept-Encoding に gzip を指定すると、gzip圧縮して返します。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報のエクスポートに成功しました")})
+
+  @GetMapping("/students/export")
+  public ResponseEntity<StreamingResponseBody> exportStudents(
+      @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding) {
+
+    boolean csv = format.equals("csv");
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    StreamingResponseBody body = outputStream -> {
+      OutputStream out = gzip
+          ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE)
+          : outputStream;
+
+      if (csv) {
+        try (StudentCsvWriter writer = new StudentCsvWriter(out, EXPORT_BUFFER_SIZE)) {
+          writer.writeHeader();
+          service.streamStudentDetails(studentDetail -> {
+            try {
+              writer.write(studentDetail);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+        }
+        return;
+      }
+
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+        service.streamStudentDetails(studentDetail -> {
+          try {
+            generator.writeObject(studentDetail);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+    };
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(csv
+            ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+            : MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(csv ? "students.csv" : "students.ndjson")
+            .build()
+            .toString())
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * 氏名・ふりがな・ニックネームで受講生情報を検索します。
+   * カタカナとひらがな、全角と半角、空白の有無を区別せず、前方一致・部分一致で検索します。
+   * <p>
+   * 完全一致、前方一致、部分一致の順に、1ページ分を返します。
+   * 次のページが存在する場合は、{@value #NEXT_CURSOR_HEADER}ヘッダーに次のページのカーソルを設定します。
+   *
+   * @param q              検索文字列
+   * @param includeDeleted 論理削除済みの受講生を含めるかどうか
+   * @param limit          1ページあたりの件数
+   * @param after          前のページで返されたカーソル
+   * @return 受講生情報のリスト（一致の度合いの高い順）
+   */
+  @Operation(summary = "受講生情報【名前検索】",
+      description = "氏名・ふりがな・ニックネームのいずれかに検索文字列を含む受講生情報を取得します。"
+          + "カタカナ/ひらがな、全角/半角、空白の有無は区別しません。完全一致、前方一致、部分一致の順に返します。"
+          + "次のページが存在する場合は、次のページのカーソルを X-Next-Cursor ヘッダーで返します。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生情報の検索に成功しました"),
+      @ApiResponse(responseCode = "400", description = "検索文字列、件数またはカーソルの形式が不正です"),
+      @ApiResponse(responseCode = "503", description = "検索の準備中です")})
+
+  @GetMapping("/students/search")
+  public ResponseEntity<List<Student>> searchStudentsByName(
+      @RequestParam @NotBlank @Size(max = 100) String q,
+      @RequestParam(defaultValue = "false") boolean includeDeleted,
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer limit,
+      @RequestParam(required = false) String after) {
+    return toPageResponse(
+        service.searchStudentsByName(q, includeDeleted, after, pageLimit(limit)));
+  }
+
+  /**
+   * 受講生詳細情報を、指定した複数の受講生IDについてまとめて取得します。論理削除済みの受講生を含みます。
+   * <p>
+   * {@code /students/{studentId}}を受講生IDの数だけ呼び出す代わりに使用します。
+   * 見つからなかった受講生IDは、エラーとせずに結果の{@code missingStudentIds}に含めます。
+   * アーカイブ済みの受講生も、見つからなかった受講生IDとして返します（{@code /students/{studentId}}では取得できます）。
+   *
+   * @param request 取得する受講生IDのリスト（最大10000件）
+   * @return 見つかった受講生詳細情報と、見つからなかった受講生ID
+   */
+  @Operation(summary = "受講生詳細情報【複数件取得】(論理削除済みの受講生を含む)",
+      description = "指定した受講生IDの受講生詳細情報 (受講生情報と受講生コース情報) をまとめて取得します。"
+          + "見つからなかった受講生IDは missingStudentIds で返します。受講生IDは最大10000件まで指定できます。"
+          + "アーカイブ済みの受講生も missingStudentIds で返します (/students/{studentId} では取得できます)。")
 
-    List<Student> students = service.getStudents(null, null);
-    List<StudentCourse> studentCourses = service.getCourses(null);
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報の取得に成功しました"),
+      @ApiResponse(responseCode = "400", description = "受講生IDが指定されていないか、件数が上限を超えています")})
 
-    return converter.convertStudentDetails(students, studentCourses);
+  @PostMapping("/students/lookup")
+  public ResponseEntity<StudentLookupResult> lookupStudents(
+      @RequestBody @Valid StudentLookupRequest request) {
+    return ResponseEntity.ok(service.getStudentDetailsByIds(request.getStudentIds()));
+  }
+
+  /**
+   * 前回の取得以降に登録・更新された受講生の、受講生詳細情報を取得します。論理削除済みの受講生を含みます。
+   * <p>
+   * 一覧を毎回すべて取得する代わりに、変更のあった受講生のみを取得して同期するために使用します。
+   * 初回はsinceを指定せずに取得し、以降は前回のレスポンスの{@code nextToken}をsinceに指定します。
+   * {@code hasMore}がtrueの場合は、続けて取得できる変更が残っています。
+   * 取得時点でアーカイブ済みの受講生は、変更があっても返しません。
+   *
+   * @param since 前回の取得で返されたトークン（未指定の場合は最初の変更から取得）
+   * @param limit 1回に読み込む変更の件数
+   * @return 受講生詳細情報（最後に変更された順）と、次回の取得に指定するトークン
+   */
+  @Operation(summary = "受講生詳細情報【変更の取得】(論理削除済みの受講生を含む)",
+      description = "since に指定したトークン以降に登録・更新された受講生の詳細情報を、最後に変更された順に取得します。"
+          + "レスポンスの nextToken を次回の since に指定してください。hasMore が true の場合は続きがあります。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報の変更の取得に成功しました"),
+      @ApiResponse(responseCode = "400", description = "件数またはトークンの形式が不正です")})
+
+  @GetMapping("/students/changes")
+  public ResponseEntity<StudentChangeFeed> getStudentChanges(
+      @RequestParam(required = false) String since,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    return ResponseEntity.ok(changeService.getChanges(since, limit));
+  }
+
+  /**
+   * 受講生情報と受講生コース情報の集計結果を取得します。
+   * コースごとの受講者数、論理削除状態ごとの人数、年齢の分布、終了予定日が近いコースの件数を返します。
+   * <p>
+   * 集計はデータベースで行うため、受講生詳細情報の一覧を取得して集計するよりも短時間で返せます。
+   *
+   * @param ageBucketWidth   年齢の区間の幅（歳）
+   * @param endingWithinDays 終了予定日が今日から何日後までのコースを、終了間近として数えるか
+   * @return 集計結果
+   */
+  @Operation(summary = "受講生・受講生コース【集計】",
+      description = "コースごとの受講者数、論理削除済み/未削除の受講生数、年齢の分布 (ageBucketWidth 歳ごと)、"
+          + "終了予定日が endingWithinDays 日以内の受講生コース数を取得します。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "集計結果の取得に成功しました"),
+      @ApiResponse(responseCode = "400", description = "区間の幅または日数が範囲外です")})
+
+  @GetMapping("/stats")
+  public ResponseEntity<EnrollmentStats> getStats(
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int ageBucketWidth,
+      @RequestParam(defaultValue = "30") @Min(0) @Max(3650) int endingWithinDays) {
+    return ResponseEntity.ok(statsService.getStats(ageBucketWidth, endingWithinDays));
   }
 
   /**
@@ -179,6 +565,83 @@ public class StudentController {
     return ResponseEntity.ok("登録処理が成功しました！");
   }
 
+  /**
+   * 受講生詳細情報を一括で登録します。
+   * 受講生情報と受講生コース情報をそれぞれ、複数件まとめて登録します。
+   * <p>
+   * 入力値に不備のある受講生詳細情報は登録せず、リクエスト内の位置とエラー内容をレスポンスで返します。
+   * 不備のない受講生詳細情報は、1つのトランザクション内でまとめて登録します。
+   * メールアドレスの一意制約などのデータベースの制約に違反した場合は、1件ずつ登録し直し、違反した受講生詳細情報のみをエラーとして返します。
+   *
+   * @param studentDetails 登録対象の受講生詳細情報のリスト
+   * @return 一括登録の結果（登録件数と、登録できなかった受講生詳細情報ごとのエラー内容）
+   */
+  @Operation(summary = "受講生詳細情報【一括登録】",
+      description = "受講生の詳細情報 (受講生情報と受講生コース情報) を一括で登録します。"
+          + "入力値に不備のある受講生詳細情報は登録せず、リクエスト内の位置とエラー内容を返します。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "受講生詳細情報の一括登録処理が完了しました (エラー内容を含む)"),
+      @ApiResponse(responseCode = "400", description = "登録件数が不正です")})
+
+  @PostMapping("/students/batch")
+  public ResponseEntity<BatchRegistrationResult> registerStudentsInBatch(
+      @RequestBody @Size(min = 1, max = 10000) List<StudentDetail> studentDetails) {
+
+    return ResponseEntity.ok(batchService.registerStudents(studentDetails));
+  }
+
+  /**
+   * ファイル（CSV/NDJSON）から受講生詳細情報をインポートします。
+   * <p>
+   * インポートはバックグラウンドで行い、完了を待たずにインポートジョブの状態を返します。
+   * 進捗とエラー内容は、{@code GET /students/import/{jobId}}で取得できます。<br>
+   * CSVの列はエクスポート（{@code GET /students/export}）と同じで、同じメールアドレスの行が連続する場合は1人の受講生としてまとめます。
+   *
+   * @param file   インポートするファイル
+   * @param format ファイルの形式（csv または ndjson）
+   * @return 受け付けたインポートジョブの状態
+   */
+  @Operation(summary = "受講生詳細情報【インポート】",
+      description = "CSV または NDJSON ファイルから、受講生の詳細情報 (受講生情報と受講生コース情報) をインポートします。"
+          + "インポートはバックグラウンドで行い、インポートジョブIDを直ちに返します。"
+          + "進捗とエラー内容は GET /students/import/{jobId} で取得できます。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "インポートを受け付けました"),
+      @ApiResponse(responseCode = "400", description = "形式の指定が不正です")})
+
+  @PostMapping(value = "/students/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobStatus> importStudents(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format) {
+
+    ImportJobStatus status = importService.submit(file, format);
+
+    return ResponseEntity.accepted()
+        .location(URI.create("/students/import/" + status.getJobId()))
+        .body(status);
+  }
+
+  /**
+   * インポートジョブの状態を取得します。
+   * 進捗（処理件数・登録件数）と、登録できなかった行ごとのエラー内容を返します。
+   *
+   * @param jobId インポートジョブID
+   * @return インポートジョブの状態
+   */
+  @Operation(summary = "受講生詳細情報【インポート状況の取得】",
+      description = "インポートジョブの状態、進捗 (処理件数・登録件数)、登録できなかった行ごとのエラー内容を取得します。")
+
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "インポートジョブの状態の取得に成功しました"),
+      @ApiResponse(responseCode = "404", description = "インポートジョブIDが見つかりません")})
+
+  @GetMapping("/students/import/{jobId}")
+  public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+    return ResponseEntity.ok(importService.getStatus(jobId));
+  }
+
   /**
    * 受講生詳細情報を更新します。
    * 受講生情報と受講生コース情報をそれぞれ更新します。
@@ -203,4 +666,83 @@ public class StudentController {
 
     return ResponseEntity.ok("更新処理が成功しました！");
   }
+
+  /**
+   * 1ページ分の取得結果をレスポンスに変換します。
+   * 次のページが存在する場合は、{@value #NEXT_CURSOR_HEADER}ヘッダーに次のページのカーソルを設定します。
+   */
+  private static <T> ResponseEntity<List<T>> toPageResponse(CursorPage<T> page) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.hasNext()) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getItems());
+  }
+
+  /**
+   * 条件付きリクエスト（If-None-Match・If-Modified-Since）を判定します。
+   * バージョンをETag、最終更新日時をLast-Modifiedとしてレスポンスヘッダーに設定し、
+   * 前回の取得時から変わっていない場合はレスポンスのステータスを304にしてtrueを返します。
+   * <p>
+   * ヘッダーの値は前回の取得時からの変更確認にのみ使われるため、クライアントに毎回確認させるようCache-Control: no-cacheも設定します。
+   */
+  private static boolean notModified(ServletWebRequest request, StudentVersion version) {
+    // 形式（JSON・CBOR・Smile）や圧縮の有無が異なっても同じ値を返すため、弱いETagとする
+    String eTag = "W/\"" + version.getVersion() + "\"";
+    long lastModified = version.getUpdatedAt() == null
+        ? -1
+        : version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    if (request.getResponse() != null) {
+      request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+          CacheControl.noCache().getHeaderValue());
+      request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+    return request.checkNotModified(eTag, lastModified);
+  }
+
+  private static int pageLimit(Integer limit) {
+    return limit == null ? DEFAULT_PAGE_LIMIT : limit;
+  }
+
+  /**
+   * Accept-Encodingヘッダーで、gzipを受け入れているかどうかを判定します。
+   * 品質値（q）が0のものは、受け入れないものとして扱います。
+   * gzipの指定がある場合は、その指定を{@code *}の指定より優先します（RFC 9110 12.5.3）。
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzipAccepted = null;
+    Boolean wildcardAccepted = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      String name = parts[0].trim();
+      boolean gzip = name.equalsIgnoreCase("gzip");
+      if (!gzip && !name.equals("*")) {
+        continue;
+      }
+      boolean rejected = false;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            rejected = Double.parseDouble(parameter.substring(2)) <= 0;
+          } catch (NumberFormatException e) {
+            rejected = true;
+          }
+        }
+      }
+      if (gzip) {
+        gzipAccepted = !rejected;
+      } else {
+        wildcardAccepted = !rejected;
+      }
+    }
+    if (gzipAccepted != null) {
+      return gzipAccepted;
+    }
+    return wildcardAccepted != null && wildcardAccepted;
+  }
 }
@@ -1,8 +1,14 @@
 package raisetech.studentmanagement.controller.converter;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Component;
 import raisetech.studentmanagement.data.Student;
 import raisetech.studentmanagement.data.StudentCourse;
@@ -11,16 +17,26 @@ import raisetech.studentmanagement.domain.StudentDetail;
 /**
  * 受講生情報や受講生コース情報から、受講生詳細情報への変換、もしくはその逆の変換を行うコンバーターです。
  * 現在は一方向（受講生/受講生コース → 詳細）の変換のみ対応していますが、将来的に双方向対応も想定しています。
+ * 各メソッドの処理時間は、メトリクス{@code student.converter}として記録します。
  */
 
+@Timed(value = "student.converter", histogram = true)
 @Component
 public class StudentConverter {
 
+  /**
+   * 並列処理に切り替える件数のしきい値です。
+   * 受講生情報と受講生コース情報の合計件数がこの値以上の場合、並列ストリームで結合処理を行います。
+   */
+  static final int PARALLEL_THRESHOLD = 50_000;
+
   /**
    * 受講生情報と受講生コース情報を結合し、受講生詳細情報のリストを生成します。
    * <p>
-   * 受講生に対して複数のコース情報が紐づくため、受講生ごとにループ処理を行い、
-   * 対応するコース情報をマッピングして受講生詳細情報を組み立てます。
+   * 受講生コース情報を一度だけ走査して受講生IDごとにグループ化し、受講生ごとにそのグループを参照して
+   * 受講生詳細情報を組み立てます（ハッシュ結合）。処理量は受講生数とコース数の合計に比例します。<br>
+   * 受講生の並び順、および受講生ごとのコースの並び順は、入力リストの順序を保持します。<br>
+   * 合計件数が{@link #PARALLEL_THRESHOLD}以上の場合は、並列ストリームで処理します。
    *
    * @param students       受講生情報のリスト
    * @param studentCourses 受講生コース情報のリスト
@@ -29,22 +45,87 @@ public class StudentConverter {
   public List<StudentDetail> convertStudentDetails(List<Student> students,
       List<StudentCourse> studentCourses) {
 
-    List<StudentDetail> studentDetails = new ArrayList<>();
+    boolean parallel = students.size() + studentCourses.size() >= PARALLEL_THRESHOLD;
 
-    students.forEach(student -> {
-      StudentDetail studentDetail = new StudentDetail();
+    return convertStudentDetails(students, studentCourses, parallel);
+  }
 
-      studentDetail.setStudent(student);
+  /**
+   * 受講生情報と受講生コース情報を結合し、受講生詳細情報のリストを生成します。
+   * 並列処理を行うかどうかを呼び出し側で指定します。
+   *
+   * @param students       受講生情報のリスト
+   * @param studentCourses 受講生コース情報のリスト
+   * @param parallel       並列ストリームで処理する場合はtrue
+   * @return 受講生詳細情報のリスト（受講生情報とコース情報を結合したもの）
+   */
+  public List<StudentDetail> convertStudentDetails(List<Student> students,
+      List<StudentCourse> studentCourses, boolean parallel) {
 
-      List<StudentCourse> convertStudentCourses = studentCourses.stream()
-          .filter(studentCourse -> student.getStudentId().equals(studentCourse.getStudentId()))
-          .collect(Collectors.toList());
+    // groupingBy（非コンカレント）は並列時も出現順を保ったままマージされるため、コースの並び順が崩れない
+    Map<String, List<StudentCourse>> coursesByStudentId = stream(studentCourses, parallel)
+        .collect(Collectors.groupingBy(StudentCourse::getStudentId));
 
-      studentDetail.setStudentsCourses(convertStudentCourses);
+    return stream(students, parallel)
+        .map(student -> new StudentDetail(student,
+            coursesByStudentId.getOrDefault(student.getStudentId(), Collections.emptyList())))
+        .collect(Collectors.toList());
+  }
 
-      studentDetails.add(studentDetail);
-    });
+  /**
+   * 受講生IDの昇順に並んだ受講生情報と受講生コース情報をマージ結合し、受講生詳細情報を1件ずつ受け渡します。
+   * <p>
+   * 両方の入力が同じ順序で並んでいることを前提に、先頭から1回ずつ走査します。
+   * 結合済みの受講生詳細情報は保持しないため、件数に関係なく一定のメモリで処理できます。<br>
+   * 受講生IDは{@link String#compareTo(String)}で比較します。受講生IDはBINARY(16)の列を小文字の16進数の文字列にしたものであり、
+   * 文字列の辞書順はSQLの{@code ORDER BY student_id}（バイト列の順序）と一致します。<br>
+   * 受講生コース情報は外部キーで受講生情報に紐づき、同じトランザクション内で読み込むため、対応する受講生は必ず存在します。
+   * そのため、対応する受講生のいないコースや、並び順の崩れたコースがある場合は、入力の並び順の誤りとして例外をスローします。
+   *
+   * @param students       受講生IDの昇順に並んだ受講生情報
+   * @param studentCourses 受講生IDの昇順に並んだ受講生コース情報
+   * @param consumer       受講生詳細情報を受け取る処理
+   * @throws IllegalStateException 対応する受講生のいないコース、または並び順の崩れたコースがある場合
+   */
+  public void mergeStudentDetails(Iterable<Student> students,
+      Iterable<StudentCourse> studentCourses, Consumer<StudentDetail> consumer) {
+
+    Iterator<StudentCourse> courseIterator = studentCourses.iterator();
+    StudentCourse nextCourse = courseIterator.hasNext() ? courseIterator.next() : null;
+
+    for (Student student : students) {
+      List<StudentCourse> convertStudentCourses = new ArrayList<>();
+
+      while (nextCourse != null) {
+        int order = nextCourse.getStudentId().compareTo(student.getStudentId());
+        if (order > 0) {
+          // 後続の受講生のコース
+          break;
+        }
+        if (order < 0) {
+          throw unmatchedCourse(nextCourse, student.getStudentId());
+        }
+        convertStudentCourses.add(nextCourse);
+        nextCourse = courseIterator.hasNext() ? courseIterator.next() : null;
+      }
+
+      consumer.accept(new StudentDetail(student, convertStudentCourses));
+    }
+
+    if (nextCourse != null) {
+      throw unmatchedCourse(nextCourse, null);
+    }
+  }
+
+  private static IllegalStateException unmatchedCourse(StudentCourse studentCourse,
+      String currentStudentId) {
+    return new IllegalStateException(
+        "対応する受講生のいない受講生コース情報、または並び順の崩れた受講生コース情報があります: "
+        + "受講生ID=" + studentCourse.getStudentId() + ", コースID=" + studentCourse.getCourseId()
+        + ", 結合中の受講生ID=" + currentStudentId);
+  }
 
-    return studentDetails;
+  private static <T> Stream<T> stream(List<T> list, boolean parallel) {
+    return parallel ? list.parallelStream() : list.stream();
   }
 }
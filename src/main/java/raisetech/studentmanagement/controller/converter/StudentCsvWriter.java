@@ -0,0 +1,175 @@
+package raisetech.studentmanagement.controller.converter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * 受講生詳細情報を、CSV形式（RFC 4180、UTF-8）で書き出すクラスです。
+ * <p>
+ * 受講生コース情報1件につき1行を出力します。受講生情報の項目は、その受講生のすべての行に繰り返し出力します。
+ * 受講生コース情報がない受講生は、コース情報の項目を空にした1行を出力します。<br>
+ * 1行分の文字列は使い回すバッファ上で組み立てるため、件数が多くても行ごとのオブジェクト生成はわずかです。
+ */
+public class StudentCsvWriter implements Closeable {
+
+  private static final String[] HEADER = {
+      "studentId", "fullName", "furiganaName", "nickName", "phoneNumber", "mailAddress",
+      "municipalityName", "age", "sex", "occupation", "remark", "deleted",
+      "courseId", "courseName", "courseStartDate", "courseExpectedEndDate"};
+
+  private final BufferedWriter writer;
+
+  // 1行分の文字列を組み立てるバッファと、書き出し時の文字配列。行ごとに使い回す
+  private final StringBuilder line = new StringBuilder(512);
+  private char[] chars = new char[512];
+
+  // 現在の行に追加した項目数
+  private int fieldCount;
+
+  /**
+   * コンストラクタ
+   *
+   * @param outputStream 書き出し先
+   * @param bufferSize   書き出し用のバッファサイズ（文字数）
+   */
+  public StudentCsvWriter(OutputStream outputStream, int bufferSize) {
+    this.writer = new BufferedWriter(
+        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+  }
+
+  /**
+   * 見出し行を書き出します。
+   *
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void writeHeader() throws IOException {
+    startLine();
+    for (String column : HEADER) {
+      appendField(column);
+    }
+    endLine();
+  }
+
+  /**
+   * 受講生詳細情報を書き出します。
+   *
+   * @param studentDetail 受講生詳細情報
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void write(StudentDetail studentDetail) throws IOException {
+    List<StudentCourse> studentCourses = studentDetail.getStudentsCourses();
+    if (studentCourses == null || studentCourses.isEmpty()) {
+      startLine();
+      appendStudent(studentDetail.getStudent());
+      appendField(null);
+      appendField(null);
+      appendField(null);
+      appendField(null);
+      endLine();
+      return;
+    }
+    for (StudentCourse studentCourse : studentCourses) {
+      startLine();
+      appendStudent(studentDetail.getStudent());
+      appendField(studentCourse.getCourseId());
+      appendField(studentCourse.getCourseName());
+      appendField(studentCourse.getCourseStartDate());
+      appendField(studentCourse.getCourseExpectedEndDate());
+      endLine();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  private void appendStudent(Student student) {
+    appendField(student.getStudentId());
+    appendField(student.getFullName());
+    appendField(student.getFuriganaName());
+    appendField(student.getNickName());
+    appendField(student.getPhoneNumber());
+    appendField(student.getMailAddress());
+    appendField(student.getMunicipalityName());
+    if (student.getAge() != null) {
+      separate();
+      line.append(student.getAge().intValue());
+    } else {
+      appendField(null);
+    }
+    appendField(student.getSex());
+    appendField(student.getOccupation());
+    appendField(student.getRemark());
+    separate();
+    line.append(student.isDeleted());
+  }
+
+  private void appendField(LocalDate date) {
+    appendField(date == null ? null : date.toString());
+  }
+
+  /**
+   * 項目を1つ追加します。カンマ・ダブルクォート・改行を含む場合は、ダブルクォートで囲みます。
+   */
+  private void appendField(String value) {
+    separate();
+    if (value == null) {
+      return;
+    }
+    if (!needsQuote(value)) {
+      line.append(value);
+      return;
+    }
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        line.append('"');
+      }
+      line.append(c);
+    }
+    line.append('"');
+  }
+
+  private void startLine() {
+    line.setLength(0);
+    fieldCount = 0;
+  }
+
+  private void separate() {
+    if (fieldCount++ > 0) {
+      line.append(',');
+    }
+  }
+
+  private void endLine() throws IOException {
+    line.append("\r\n");
+    int length = line.length();
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+    // StringをはさまずにBufferedWriterへ渡す
+    line.getChars(0, length, chars, 0);
+    writer.write(chars, 0, length);
+  }
+
+  private static boolean needsQuote(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
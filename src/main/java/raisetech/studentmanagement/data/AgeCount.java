@@ -0,0 +1,21 @@
+package raisetech.studentmanagement.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生情報の件数を、年齢の区間ごとに集計した結果を扱うクラスです。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgeCount {
+
+  // 区間の下限の年齢（区間の幅の倍数）
+  private int lowerBound;
+
+  private long count;
+}
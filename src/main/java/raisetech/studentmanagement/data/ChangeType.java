@@ -0,0 +1,17 @@
+package raisetech.studentmanagement.data;
+
+/**
+ * 変更履歴に記録する、受講生詳細情報の変更の種類です。
+ */
+public enum ChangeType {
+
+  /**
+   * 登録（一括登録・インポートを含む）
+   */
+  CREATED,
+
+  /**
+   * 更新（論理削除状態の更新を含む）
+   */
+  UPDATED
+}
@@ -0,0 +1,27 @@
+package raisetech.studentmanagement.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生コース情報の件数を、コースIDごとに集計した結果を扱うクラスです。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseCount {
+
+  private String courseId;
+
+  // 受講生コース情報の件数（論理削除済みの受講生を含む）
+  private long total;
+
+  // 論理削除されていない受講生の受講生コース情報の件数
+  private long active;
+
+  // 論理削除されていない受講生のうち、コース終了予定日が指定した期間内の件数
+  private long endingSoon;
+}
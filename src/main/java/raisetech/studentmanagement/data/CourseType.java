@@ -1,5 +1,12 @@
 package raisetech.studentmanagement.data;
 
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import raisetech.studentmanagement.exception.CourseNotFoundException;
 
 /**
@@ -14,6 +21,19 @@ public enum CourseType {
   DESIGN("デザインコース", "A004"),
   WEB_MARKETING("Webマーケティングコース", "A005");
 
+  // コース名からコースを検索するための表。values()は呼び出すたびに配列を生成するため、クラスの初期化時に1度だけ作成する
+  private static final Map<String, CourseType> BY_COURSE_NAME = Arrays.stream(values())
+      .collect(Collectors.toUnmodifiableMap(CourseType::getCourseName, Function.identity()));
+
+  // 大文字小文字を区別せずにコース名からコースを検索するための表
+  private static final Map<String, CourseType> BY_COURSE_NAME_IGNORE_CASE = Arrays.stream(values())
+      .collect(Collectors.toUnmodifiableMap(type -> normalizeCourseName(type.getCourseName()),
+          Function.identity()));
+
+  // 小さいカナ（ひらがな）と、照合順序で同じ文字として扱われる通常のカナ
+  private static final String SMALL_KANA = "ぁぃぅぇぉっゃゅょゎゕゖ";
+  private static final String LARGE_KANA = "あいうえおつやゆよわかけ";
+
   private final String courseName;
   private final String courseId;
 
@@ -46,12 +66,55 @@ public enum CourseType {
    */
   public static CourseType fromCourseName(String courseName) {
 
-    for (CourseType type : CourseType.values()) {
-      if (type.getCourseName().equals(courseName)) {
+    CourseType type = courseName == null ? null : BY_COURSE_NAME.get(courseName);
+    if (type == null) {
+      throw new CourseNotFoundException(courseName);
+    }
+    return type;
+  }
 
-        return type;
+  /**
+   * コース名からコースを検索します。(大文字小文字の区別はしません。)
+   * 比較の規則は、{@link #normalizeCourseName(String)}を参照してください。
+   *
+   * @param courseName コース名
+   * @return コース名に対応するコース (存在しない場合は、Optional.empty ())
+   */
+  public static Optional<CourseType> findByCourseNameIgnoreCase(String courseName) {
+    if (courseName == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(BY_COURSE_NAME_IGNORE_CASE.get(normalizeCourseName(courseName)));
+  }
+
+  /**
+   * コース名を、データベースでの検索と同じ結果になるよう比較するために正規化します。
+   * <p>
+   * コース名の列の照合順序（utf8mb4_0900_ai_ci）は、大文字・小文字のほか、全角・半角、アクセント記号や濁点・半濁点、
+   * ひらがな・カタカナ、小さいカナを区別しません。メモリ上の索引やスナップショットでコース名を比較する場合も、
+   * 同じ規則とするため、全角・半角を統一（NFKC）して小文字にし、結合文字（アクセント記号・濁点など）を除いて、
+   * カタカナをひらがなに、小さいカナを通常のカナに変換します。<br>
+   * 照合順序のすべての規則（長音記号の扱いなど）を再現するものではありません。
+   *
+   * @param courseName コース名
+   * @return 正規化したコース名
+   */
+  public static String normalizeCourseName(String courseName) {
+    String nfkc = Normalizer.normalize(courseName, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    String nfd = Normalizer.normalize(nfkc, Normalizer.Form.NFD);
+    StringBuilder normalized = new StringBuilder(nfd.length());
+    for (int i = 0; i < nfd.length(); i++) {
+      char c = nfd.charAt(i);
+      if (Character.getType(c) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      // カタカナ（ァ〜ヶ）は、対応するひらがな（ぁ〜ゖ）に変換する
+      if (c >= 'ァ' && c <= 'ヶ') {
+        c -= 0x60;
       }
+      int small = SMALL_KANA.indexOf(c);
+      normalized.append(small < 0 ? c : LARGE_KANA.charAt(small));
     }
-    throw new CourseNotFoundException(courseName);
+    return normalized.toString();
   }
 }
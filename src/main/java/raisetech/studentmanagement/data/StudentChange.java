@@ -0,0 +1,30 @@
+package raisetech.studentmanagement.data;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生詳細情報の変更履歴（student_changesテーブル）の1行を扱うクラスです。
+ * 変更の取得（{@code GET /students/changes}）で、どこまで取得したかの位置として変更IDを使用します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChange {
+
+  // 変更ID（記録した順に増える値）
+  private long changeId;
+
+  private String studentId;
+
+  private ChangeType changeType;
+
+  private LocalDateTime changedAt;
+
+  // 記録から一定時間が経過しているかどうか（変更IDの欠番を、ロールバックによるものとみなしてよいか）
+  private boolean settled;
+}
@@ -0,0 +1,25 @@
+package raisetech.studentmanagement.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生情報の件数を、論理削除状態ごとに集計した結果を扱うクラスです。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentCounts {
+
+  // 受講生の総数（論理削除済みを含む）
+  private long total;
+
+  // 論理削除されていない受講生の数
+  private long active;
+
+  // 論理削除済みの受講生の数
+  private long deleted;
+}
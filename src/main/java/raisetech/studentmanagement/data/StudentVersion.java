@@ -0,0 +1,24 @@
+package raisetech.studentmanagement.data;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生情報のバージョンと最終更新日時を扱うクラスです。
+ * 受講生詳細情報を取得せずに、内容が変わったかどうかを判定するために使用します（ETag・Last-Modified）。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentVersion {
+
+  // 受講生情報・受講生コース情報の登録・更新のたびに増える値
+  private long version;
+
+  // 最終更新日時（受講生が1人もいない場合はnull）
+  private LocalDateTime updatedAt;
+}
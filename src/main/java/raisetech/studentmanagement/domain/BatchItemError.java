@@ -0,0 +1,21 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 一括処理において、1件の受講生詳細情報を処理できなかった理由を扱うクラスです。
+ */
+@Schema(description = "一括処理のエラー内容 (1件分)")
+@Getter
+@AllArgsConstructor
+public class BatchItemError {
+
+  // リクエスト内での位置（0始まり）。インポートの場合は、ファイル内のデータ行の位置（見出し行を除く）
+  private final int index;
+
+  // 項目名とエラーメッセージの組み合わせ
+  private final Map<String, String> errors;
+}
@@ -0,0 +1,25 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生詳細情報の一括登録の結果を扱うクラスです。
+ * 登録できた件数と、登録できなかった受講生詳細情報ごとのエラー内容を保持します。
+ */
+@Schema(description = "受講生詳細情報の一括登録結果")
+@Getter
+@AllArgsConstructor
+public class BatchRegistrationResult {
+
+  // 登録できた受講生詳細情報の件数
+  private final int registeredCount;
+
+  // 登録できなかった受講生詳細情報の件数
+  private final int rejectedCount;
+
+  // 登録できなかった受講生詳細情報ごとのエラー内容（リクエストの並び順）
+  private final List<BatchItemError> errors;
+}
@@ -0,0 +1,31 @@
+package raisetech.studentmanagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * カーソル方式のページング結果を扱うクラスです。
+ * 1ページ分のデータと、次のページを取得するためのカーソルを保持します。
+ *
+ * @param <T> ページに含まれるデータの型
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  // 1ページ分のデータ
+  private final List<T> items;
+
+  // 次のページを取得するためのカーソル（次のページが存在しない場合はnull）
+  private final String nextCursor;
+
+  /**
+   * 次のページが存在するかどうかを返します。
+   *
+   * @return 次のページが存在する場合はtrue
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,76 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生情報と受講生コース情報の集計結果を扱うクラスです。
+ * 受講生の人数、コースごとの受講者数、年齢の分布、終了予定日が近いコースの件数を保持します。
+ */
+@Schema(description = "受講生・受講生コースの集計結果")
+@Getter
+@AllArgsConstructor
+public class EnrollmentStats {
+
+  // 受講生の総数（論理削除済みを含む）
+  private final long totalStudents;
+
+  // 論理削除されていない受講生の数
+  private final long activeStudents;
+
+  // 論理削除済みの受講生の数
+  private final long deletedStudents;
+
+  // コースごとの集計結果（CourseTypeの定義順。受講生がいないコースは件数0）
+  private final List<CourseStats> courses;
+
+  // 論理削除されていない受講生の、年齢の区間ごとの人数（区間の下限の昇順）
+  private final List<AgeBucket> ageHistogram;
+
+  // 終了予定日が近いとみなす期間（集計日から endingWithinDays 日後まで）
+  private final LocalDate endingFrom;
+  private final LocalDate endingTo;
+
+  // 論理削除されていない受講生の受講生コース情報のうち、終了予定日が期間内の件数（全コースの合計）
+  private final long coursesEndingSoon;
+
+  /**
+   * コースごとの集計結果です。
+   */
+  @Schema(description = "コースごとの集計結果")
+  @Getter
+  @AllArgsConstructor
+  public static class CourseStats {
+
+    private final String courseId;
+
+    private final String courseName;
+
+    // 受講生コース情報の件数（論理削除済みの受講生を含む）
+    private final long totalEnrollments;
+
+    // 論理削除されていない受講生の受講生コース情報の件数
+    private final long activeEnrollments;
+
+    // 論理削除されていない受講生のうち、終了予定日が期間内の件数
+    private final long endingSoon;
+  }
+
+  /**
+   * 年齢の区間ごとの人数です。区間は下限・上限の年齢を含みます。
+   */
+  @Schema(description = "年齢の区間ごとの人数")
+  @Getter
+  @AllArgsConstructor
+  public static class AgeBucket {
+
+    private final int fromAge;
+
+    private final int toAge;
+
+    private final long count;
+  }
+}
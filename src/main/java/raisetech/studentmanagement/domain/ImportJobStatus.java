@@ -0,0 +1,64 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生詳細情報のインポートジョブの状態を扱うクラスです。
+ * 進捗（処理件数・登録件数）と、登録できなかった行ごとのエラー内容を保持します。
+ */
+@Schema(description = "受講生詳細情報のインポートジョブの状態")
+@Getter
+@AllArgsConstructor
+public class ImportJobStatus {
+
+  /**
+   * インポートジョブの状態です。
+   */
+  public enum State {
+    // 実行待ち
+    QUEUED,
+    // 実行中
+    RUNNING,
+    // 完了（一部の行が登録できなかった場合を含む）
+    COMPLETED,
+    // ファイルの形式不正やデータベースの障害により中断
+    FAILED
+  }
+
+  // インポートジョブID
+  private final String jobId;
+
+  // 状態
+  private final State state;
+
+  // ファイルの形式（csv または ndjson）
+  private final String format;
+
+  // 処理した受講生詳細情報の件数
+  private final long processedCount;
+
+  // 登録できた受講生詳細情報の件数
+  private final long registeredCount;
+
+  // 登録できなかった受講生詳細情報の件数
+  private final long rejectedCount;
+
+  // 登録できなかった受講生詳細情報ごとのエラー内容（ファイル内の並び順。上限件数まで）
+  private final List<BatchItemError> rejects;
+
+  // 受付日時
+  private final LocalDateTime createdAt;
+
+  // 開始日時（開始前はnull）
+  private final LocalDateTime startedAt;
+
+  // 終了日時（終了前はnull）
+  private final LocalDateTime finishedAt;
+
+  // 中断した理由（中断していない場合はnull）
+  private final String failureReason;
+}
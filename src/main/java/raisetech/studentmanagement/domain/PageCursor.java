@@ -0,0 +1,56 @@
+package raisetech.studentmanagement.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import raisetech.studentmanagement.exception.InvalidCursorException;
+
+/**
+ * カーソル方式のページングで使用する、カーソル文字列の生成と解析を行うクラスです。
+ * <p>
+ * カーソルには、前のページの最後の行のキー（受講生IDやコースIDなど）を保持します。
+ * クライアントには中身を意識させないよう、Base64URL形式にエンコードした文字列として返します。<br>
+ * 次のページは「キーがカーソルより大きい行」をSQLで取得するため（キーセットページング）、
+ * OFFSETと異なり、ページの深さに関係なく一定のコストで取得できます。
+ */
+public final class PageCursor {
+
+  // キー同士の区切り文字（受講生IDやコースIDには含まれない文字）
+  private static final String SEPARATOR = "\n";
+
+  private PageCursor() {
+  }
+
+  /**
+   * キーをカーソル文字列にエンコードします。
+   *
+   * @param keys 前のページの最後の行のキー
+   * @return カーソル文字列
+   */
+  public static String encode(String... keys) {
+    String joined = String.join(SEPARATOR, keys);
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * カーソル文字列をキーにデコードします。
+   *
+   * @param cursor        カーソル文字列
+   * @param expectedCount キーの個数
+   * @return キーのリスト
+   * @throws InvalidCursorException カーソル文字列の形式が正しくない場合にスロー
+   */
+  public static List<String> decode(String cursor, int expectedCount) {
+    try {
+      String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      List<String> keys = List.of(joined.split(SEPARATOR, -1));
+      if (keys.size() != expectedCount || keys.stream().anyMatch(String::isEmpty)) {
+        throw new InvalidCursorException(cursor);
+      }
+      return keys;
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+}
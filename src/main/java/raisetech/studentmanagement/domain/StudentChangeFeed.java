@@ -0,0 +1,25 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生詳細情報の変更の取得結果を扱うクラスです。
+ * 前回の取得以降に登録・更新された受講生の受講生詳細情報と、次回の取得に指定するトークンを保持します。
+ */
+@Schema(description = "受講生詳細情報の変更の取得結果")
+@Getter
+@AllArgsConstructor
+public class StudentChangeFeed {
+
+  // 登録・更新された受講生の、現在の受講生詳細情報（最後に変更された順。同じ受講生は1件にまとめる）
+  private final List<StudentDetail> studentDetails;
+
+  // 次回の取得でsinceに指定するトークン（変更がなかった場合も返す）
+  private final String nextToken;
+
+  // 続けて取得できる変更が残っているかどうか
+  private final boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生詳細情報の複数件取得のリクエストを扱うクラスです。
+ */
+@Schema(description = "受講生詳細情報の複数件取得のリクエスト")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentLookupRequest {
+
+  // 取得する受講生のID（重複は1件として扱う）
+  @NotEmpty(message = "受講生IDを1件以上指定してください")
+  @Size(max = 10000, message = "受講生IDは10000件以内で指定してください")
+  private List<@NotBlank(message = "受講生IDは必須です") String> studentIds;
+}
@@ -0,0 +1,22 @@
+package raisetech.studentmanagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生詳細情報の複数件取得の結果を扱うクラスです。
+ * 見つかった受講生詳細情報と、見つからなかった受講生IDを保持します。
+ */
+@Schema(description = "受講生詳細情報の複数件取得の結果")
+@Getter
+@AllArgsConstructor
+public class StudentLookupResult {
+
+  // 見つかった受講生詳細情報（リクエストの受講生IDの並び順）
+  private final List<StudentDetail> studentDetails;
+
+  // 見つからなかった受講生ID（リクエストの並び順）
+  private final List<String> missingStudentIds;
+}
@@ -0,0 +1,22 @@
+package raisetech.studentmanagement.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.studentmanagement.data.StudentVersion;
+
+/**
+ * 受講生詳細情報と、同じクエリで取得した受講生情報のバージョンを扱うクラスです。
+ * 返す受講生詳細情報と、ETag・Last-Modifiedに使用するバージョンが、同じ時点のものになるようにします。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionedStudentDetail {
+
+  private StudentDetail studentDetail;
+
+  private StudentVersion version;
+}
@@ -1,9 +1,14 @@
 package raisetech.studentmanagement.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -48,6 +53,21 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
   }
 
+  /**
+   * インポートジョブIDが見つからない例外をハンドリングします。
+   * クライアントに404 Not Foundステータスと詳細なエラーメッセージを返します。
+   *
+   * @param ex 発生したImportJobNotFoundException
+   * @return エラーメッセージを含むJSON形式のレスポンスとHTTPステータスコード 404 (NOT FOUND)
+   */
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  public ResponseEntity<Map<String, String>> handleImportJobNotFoundException(
+      ImportJobNotFoundException ex) {
+    Map<String, String> errorResponse = new HashMap<>();
+    errorResponse.put("error", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+  }
+
   /**
    * Enumで定義されたコース名が、見つからない場合の例外をハンドリングします。
    * クライアントに404 Not Foundステータスと詳細なエラーメッセージを返します。
@@ -63,6 +83,100 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
   }
 
+  /**
+   * リクエストパラメータのバリデーションエラーが発生した場合の例外をハンドリングします。
+   * クライアントに400 Bad Requestステータスと、どのパラメータにどのような不備があるのかという、詳細なエラーメッセージを返します。
+   *
+   * @param ex 発生したConstraintViolationException
+   * @return エラーメッセージを含むJSON形式のレスポンスとHTTPステータスコード 400 (Bad Request)
+   */
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Map<String, String>> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+    Map<String, String> errors = new HashMap<>();
+    ex.getConstraintViolations().forEach(violation -> {
+      errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+    });
+    return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * ページングのカーソルの形式が正しくない例外をハンドリングします。
+   * クライアントに400 Bad Requestステータスと詳細なエラーメッセージを返します。
+   *
+   * @param ex 発生したInvalidCursorException
+   * @return エラーメッセージを含むJSON形式のレスポンスとHTTPステータスコード 400 (Bad Request)
+   */
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidCursorException(
+      InvalidCursorException ex) {
+    Map<String, String> errorResponse = new HashMap<>();
+    errorResponse.put("error", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+
+  /**
+   * コネクションプールから接続を取得できなかった場合の例外をハンドリングします。
+   * 同時に処理できるリクエスト数を超えているため、クライアントに503 Service Unavailableステータスと、
+   * 再試行までの秒数（Retry-Afterヘッダー）を返します。
+   * <p>
+   * 接続を取得する箇所によって、発生する例外が異なります。
+   * <ul>
+   *   <li>トランザクション外：CannotGetJdbcConnectionException</li>
+   *   <li>トランザクションの開始時：CannotCreateTransactionException</li>
+   *   <li>レプリカへの振り分け時（最初のSQLの実行時）：SQLTransientConnectionExceptionを原因とする例外</li>
+   * </ul>
+   * いずれも、原因にCannotGetJdbcConnectionExceptionまたはSQLTransientConnectionException（HikariCPの取得待ちのタイムアウト）を
+   * 含む場合のみ503とし、それ以外の原因の場合は、そのまま例外をスローします。
+   *
+   * @param ex 発生した例外
+   * @return エラーメッセージを含むJSON形式のレスポンスとHTTPステータスコード 503 (Service Unavailable)
+   * @throws Exception 接続を取得できなかったことによる例外でない場合にスロー
+   */
+  @ExceptionHandler({CannotGetJdbcConnectionException.class,
+      CannotCreateTransactionException.class, SQLTransientConnectionException.class})
+  public ResponseEntity<Map<String, String>> handleCannotGetJdbcConnectionException(Exception ex)
+      throws Exception {
+    if (!isConnectionUnavailable(ex)) {
+      throw ex;
+    }
+    Map<String, String> errorResponse = new HashMap<>();
+    errorResponse.put("error", "混み合っているため、しばらくしてから再度お試しください");
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(errorResponse);
+  }
+
+  /**
+   * 例外またはその原因に、接続を取得できなかったことを示す例外が含まれるかどうかを判定します。
+   */
+  private static boolean isConnectionUnavailable(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof CannotGetJdbcConnectionException
+          || cause instanceof SQLTransientConnectionException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 受講生の名前検索用の索引を読み込み中の例外をハンドリングします。
+   * クライアントに503 Service Unavailableステータスと、再試行までの秒数（Retry-Afterヘッダー）を返します。
+   *
+   * @param ex 発生したSearchIndexNotReadyException
+   * @return エラーメッセージを含むJSON形式のレスポンスとHTTPステータスコード 503 (Service Unavailable)
+   */
+  @ExceptionHandler(SearchIndexNotReadyException.class)
+  public ResponseEntity<Map<String, String>> handleSearchIndexNotReadyException(
+      SearchIndexNotReadyException ex) {
+    Map<String, String> errorResponse = new HashMap<>();
+    errorResponse.put("error", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(errorResponse);
+  }
+
   /**
    * 例外処理が正しく行われるかを確認するための例外をハンドリングします。
    * クライアントに200 OKステータスと例外確認用と分かるメッセージを返します。
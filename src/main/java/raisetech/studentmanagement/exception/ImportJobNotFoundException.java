@@ -0,0 +1,11 @@
+package raisetech.studentmanagement.exception;
+
+/**
+ * 指定されたインポートジョブIDが見つからなかった場合にスローされる、例外クラスです。
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+
+  public ImportJobNotFoundException(String jobId) {
+    super("インポートジョブID: " + jobId + " が見つかりません");
+  }
+}
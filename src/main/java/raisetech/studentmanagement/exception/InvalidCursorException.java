@@ -0,0 +1,11 @@
+package raisetech.studentmanagement.exception;
+
+/**
+ * ページングのカーソルの形式が正しくなかった場合にスローされる、例外クラスです。
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String cursor) {
+    super("カーソル: " + cursor + " の形式が正しくありません");
+  }
+}
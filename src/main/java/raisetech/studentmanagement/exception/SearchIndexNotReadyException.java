@@ -0,0 +1,11 @@
+package raisetech.studentmanagement.exception;
+
+/**
+ * 受講生の名前検索用の索引を読み込み中のため、検索できない場合にスローされる、例外クラスです。
+ */
+public class SearchIndexNotReadyException extends RuntimeException {
+
+  public SearchIndexNotReadyException() {
+    super("検索の準備中です。しばらくしてから再度お試しください");
+  }
+}
@@ -1,10 +1,21 @@
 package raisetech.studentmanagement.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import raisetech.studentmanagement.data.AgeCount;
+import raisetech.studentmanagement.data.ChangeType;
+import raisetech.studentmanagement.data.CourseCount;
 import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentChange;
+import raisetech.studentmanagement.data.StudentCounts;
 import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.domain.VersionedStudentDetail;
 
 /**
  * 受講生情報および受講生コース情報に関するデータベース操作を行う、Repositoryインターフェースです。
@@ -14,6 +25,34 @@ import raisetech.studentmanagement.data.StudentCourse;
 
 public interface StudentRepository {
 
+  /**
+   * 受講生詳細情報を取得します。
+   * 受講生情報と受講生コース情報を結合（LEFT JOIN）し、1回のクエリで取得します。
+   *
+   * @param deleted 論理削除状態（nullの場合は論理削除済みの受講生を含む）
+   * @return 受講生詳細情報のリスト（受講生IDの昇順）
+   */
+  List<StudentDetail> searchStudentDetails(@Param("deleted") Boolean deleted);
+
+  /**
+   * 受講生詳細情報を取得します。
+   * 指定した受講生IDに紐づく受講生情報と受講生コース情報を結合（LEFT JOIN）し、1回のクエリで取得します。
+   * 受講生情報のバージョンと最終更新日時も、同じクエリで取得します。
+   *
+   * @param studentId 受講生ID
+   * @return 指定した受講生IDに紐づく受講生詳細情報とバージョン (存在しない場合は、Optional.empty ())
+   */
+  Optional<VersionedStudentDetail> findStudentDetailById(@Param("studentId") String studentId);
+
+  /**
+   * 受講生詳細情報を取得します。
+   * 指定した複数の受講生IDに紐づく受講生情報と受講生コース情報を結合（LEFT JOIN）し、1回のクエリでまとめて取得します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @return 指定した受講生IDに紐づく受講生詳細情報のリスト（受講生IDの昇順。存在しない受講生IDは含まない）
+   */
+  List<StudentDetail> findStudentDetailsByIds(@Param("studentIds") List<String> studentIds);
+
   /**
    * 受講生情報を全件取得します。
    *
@@ -21,6 +60,28 @@ public interface StudentRepository {
    */
   List<Student> searchStudents();
 
+  /**
+   * 受講生情報を全件、受講生IDの昇順でカーソルとして取得します。
+   * <p>
+   * 全件をメモリに読み込まず、1行ずつ取り出せます。
+   * カーソルはトランザクション内で使用し、使用後はクローズする必要があります。
+   *
+   * @return 受講生情報のカーソル(全件)
+   */
+  Cursor<Student> streamStudents();
+
+  /**
+   * 受講生情報を1ページ分取得します。
+   * 受講生IDの昇順で、指定した受講生IDより後の受講生情報を取得します（キーセットページング）。
+   *
+   * @param deleted        論理削除状態（nullの場合は論理削除状態で絞り込まない）
+   * @param afterStudentId 前のページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param limit          取得件数の上限
+   * @return 受講生情報のリスト(1ページ分)
+   */
+  List<Student> searchStudentsPage(@Param("deleted") Boolean deleted,
+      @Param("afterStudentId") String afterStudentId, @Param("limit") int limit);
+
   /**
    * 受講生情報を取得します。
    * 指定した受講生IDに紐づく受講生情報を取得します。
@@ -33,6 +94,46 @@ public interface StudentRepository {
    */
   Optional<Student> findById(String studentId);
 
+  /**
+   * 受講生情報全体の、バージョンと最終更新日時を取得します。(受講生情報全体のバージョンテーブル)
+   * バージョンは、受講生の登録・更新・アーカイブのたびに{@link #incrementRosterVersion()}で増やします。
+   *
+   * @return バージョンと最終更新日時
+   */
+  StudentVersion findRosterVersion();
+
+  /**
+   * 受講生情報全体のバージョンを1増やします。(受講生情報全体のバージョンテーブル)
+   * 受講生情報を変更するトランザクションの最後に呼び出します（行ロックをコミットまで保持するため）。
+   */
+  void incrementRosterVersion();
+
+  /**
+   * 受講生情報の件数を、論理削除状態ごとに集計します。
+   *
+   * @return 受講生情報の件数
+   */
+  StudentCounts countStudents();
+
+  /**
+   * 受講生コース情報の件数を、コースIDごとに集計します。
+   * 論理削除されていない受講生について、コース終了予定日が指定した期間内の件数もあわせて集計します。
+   *
+   * @param endingFrom 終了予定日の期間の開始日
+   * @param endingTo   終了予定日の期間の終了日
+   * @return コースIDごとの件数（受講生コース情報が1件もないコースは含まない）
+   */
+  List<CourseCount> countCoursesByCourseId(@Param("endingFrom") LocalDate endingFrom,
+      @Param("endingTo") LocalDate endingTo);
+
+  /**
+   * 論理削除されていない受講生情報の件数を、年齢の区間ごとに集計します。
+   *
+   * @param width 区間の幅（歳）
+   * @return 年齢の区間ごとの件数（区間の下限の昇順。該当する受講生がいない区間は含まない）
+   */
+  List<AgeCount> countStudentsByAge(@Param("width") int width);
+
   /**
    * 受講生コース情報を全件取得します。
    *
@@ -42,12 +143,47 @@ public interface StudentRepository {
 
   /**
    * 受講生コース情報を取得します。
-   * 指定した受講生IDに紐づく受講生コース情報を取得します。
+   * 対象は、指定したコース名と一致する受講生コース情報です。(大文字小文字の区別はしません。)
+   * <p>
+   * コース名がnullまたは空文字の場合は、すべての受講生コース情報を返します。
    *
-   * @param studentId 受講生ID
-   * @return 指定した受講生IDに紐づく受講生コース情報
+   * @param courseName コース名
+   * @return 指定したコース名に該当する受講生コース情報のリスト
    */
-  List<StudentCourse> findCourseById(String studentId);
+  List<StudentCourse> searchCoursesByCourseName(@Param("courseName") String courseName);
+
+  /**
+   * 受講生コース情報を全件、受講生IDの昇順でカーソルとして取得します。
+   * <p>
+   * 全件をメモリに読み込まず、1行ずつ取り出せます。
+   * カーソルはトランザクション内で使用し、使用後はクローズする必要があります。
+   *
+   * @return 受講生コース情報のカーソル(全件)
+   */
+  Cursor<StudentCourse> streamCourses();
+
+  /**
+   * 受講生コース情報を1ページ分取得します。
+   * （受講生ID, コースID）の昇順で、指定したキーより後の受講生コース情報を取得します（キーセットページング）。
+   *
+   * @param courseName     コース名（nullまたは空文字の場合はコース名で絞り込まない）
+   * @param afterStudentId 前のページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param afterCourseId  前のページの最後のコースID
+   * @param limit          取得件数の上限
+   * @return 受講生コース情報のリスト(1ページ分)
+   */
+  List<StudentCourse> searchCoursesPage(@Param("courseName") String courseName,
+      @Param("afterStudentId") String afterStudentId, @Param("afterCourseId") String afterCourseId,
+      @Param("limit") int limit);
+
+  /**
+   * 受講生コース情報を取得します。
+   * 指定した複数の受講生IDに紐づく受講生コース情報を、1回のクエリでまとめて取得します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @return 指定した受講生IDに紐づく受講生コース情報のリスト
+   */
+  List<StudentCourse> findCoursesByStudentIds(@Param("studentIds") List<String> studentIds);
 
   /**
    * 受講生情報を登録します。(受講生情報テーブル)
@@ -65,18 +201,144 @@ public interface StudentRepository {
    */
   void saveStudentCourse(StudentCourse studentCourse);
 
+  /**
+   * 受講生情報を複数件まとめて登録します。(受講生情報テーブル)
+   * 1回のINSERT文で複数行を登録します。
+   *
+   * @param students 受講生情報のリスト（空でないこと）
+   */
+  void saveStudents(@Param("students") List<Student> students);
+
+  /**
+   * 受講生コース情報を複数件まとめて登録します。(受講生コース情報テーブル)
+   * 1回のINSERT文で複数行を登録します。
+   *
+   * @param studentCourses 受講生コース情報のリスト（空でないこと）
+   */
+  void saveStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
+  /**
+   * 指定したメールアドレスのうち、既に登録されているものを取得します。
+   *
+   * @param mailAddresses メールアドレスのリスト（空でないこと）
+   * @return 既に登録されているメールアドレスのリスト
+   */
+  List<String> findExistingMailAddresses(@Param("mailAddresses") List<String> mailAddresses);
+
   /**
    * 受講生情報を更新します。(受講生情報テーブル)
    *
    * @param student 受講生情報
+   * @return 受講生IDに一致した行数（該当する受講生が存在しない場合は0）
    */
-  void updateStudent(Student student);
+  int updateStudent(Student student);
 
   /**
-   * 受講生コース情報を更新します。(受講生コース情報テーブル)
+   * 受講生コース情報を複数件まとめて登録または更新します。(受講生コース情報テーブル)
+   * （受講生ID, コースID）が既に存在する場合は更新、存在しない場合は新規登録します。
    *
-   * @param studentCourse 受講生コース情報
+   * @param studentCourses 受講生コース情報のリスト（空でないこと）
+   */
+  void upsertStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
+  /**
+   * 受講生詳細情報の変更を、変更履歴に記録します。(変更履歴テーブル)
+   * 1回のINSERT文で、指定した受講生の数だけ行を追加します。
+   *
+   * @param studentIds 登録・更新した受講生の受講生IDのリスト（空でないこと）
+   * @param changeType 変更の種類
+   */
+  void saveStudentChanges(@Param("studentIds") List<String> studentIds,
+      @Param("changeType") ChangeType changeType);
+
+  /**
+   * 指定した変更IDより後に記録された変更履歴を、変更IDの昇順で取得します。
+   *
+   * @param afterChangeId 前回までに取得した最後の変更ID
+   * @param limit         取得する件数
+   * @param settleMillis  記録からこの時間（ミリ秒）が経過した行を、確定済み（settled）とする
+   * @return 変更履歴のリスト（変更IDの昇順）
+   */
+  List<StudentChange> findChangesAfter(@Param("afterChangeId") long afterChangeId,
+      @Param("limit") int limit, @Param("settleMillis") long settleMillis);
+
+  /**
+   * アーカイブ済みの受講生の、受講生詳細情報とバージョンを取得します。(アーカイブテーブル)
+   *
+   * @param studentId 受講生ID
+   * @return 指定した受講生IDに紐づく受講生詳細情報とバージョン (アーカイブされていない場合は、Optional.empty ())
+   */
+  Optional<VersionedStudentDetail> findArchivedStudentDetailById(
+      @Param("studentId") String studentId);
+
+  /**
+   * アーカイブの対象となる受講生の受講生IDを、論理削除（最終更新）の古い順に取得し、行ロックを取得します。
+   * 対象は、論理削除済みで、最終更新から指定した時間が経過した受講生です。
+   * 他のトランザクションが更新中の受講生は、待たずに対象から除きます。
+   *
+   * @param retentionMillis 最終更新からの経過時間（ミリ秒）
+   * @param limit           取得する件数
+   * @return 受講生IDのリスト
+   */
+  List<String> findArchivableStudentIds(@Param("retentionMillis") long retentionMillis,
+      @Param("limit") int limit);
+
+  /**
+   * 受講生情報を、アーカイブテーブルに複写します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   */
+  void archiveStudents(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 受講生コース情報を、アーカイブテーブルに複写します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   */
+  void archiveStudentCourses(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 受講生情報を削除します。(受講生情報テーブル)
+   * アーカイブテーブルへの複写後に使用します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   */
+  void deleteStudents(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 受講生コース情報を削除します。(受講生コース情報テーブル)
+   * アーカイブテーブルへの複写後に使用します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   */
+  void deleteStudentCourses(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * アーカイブ済みの受講生情報を、受講生情報テーブルに戻します。
+   *
+   * @param studentId 受講生ID
+   * @return 戻した行数（アーカイブされていない場合は0）
+   */
+  int restoreStudent(String studentId);
+
+  /**
+   * アーカイブ済みの受講生コース情報を、受講生コース情報テーブルに戻します。
+   *
+   * @param studentId 受講生ID
+   */
+  void restoreStudentCourses(String studentId);
+
+  /**
+   * アーカイブテーブルから、受講生情報を削除します。
+   *
+   * @param studentId 受講生ID
+   */
+  void deleteArchivedStudent(String studentId);
+
+  /**
+   * アーカイブテーブルから、受講生コース情報を削除します。
+   *
+   * @param studentId 受講生ID
    */
-  // 特定の受講生の特定のコースだけを更新したい場合、WHERE句には、studentIdとcourseIdの両方を指定する必要がある
-  void updateStudentCourse(StudentCourse studentCourse);
+  void deleteArchivedStudentCourses(String studentId);
 }
@@ -0,0 +1,88 @@
+package raisetech.studentmanagement.repository.typehandler;
+
+import java.nio.ByteBuffer;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+/**
+ * UUIDの文字列表現（36文字）と、データベースの{@code BINARY(16)}を相互に変換するTypeHandlerです。
+ * <p>
+ * 受講生IDはデータベースには16バイトで保存し、アプリケーションとAPIでは文字列のまま扱います。
+ * JDBCの型が{@link JdbcType#BINARY}の項目にのみ適用されるため、Mapper XMLでは受講生IDのパラメータに
+ * {@code jdbcType=BINARY}を指定します（取得結果は、列の型から自動で適用されます）。
+ * <p>
+ * UUIDの形式でない文字列は、どの受講生IDとも一致しない空のバイト列に変換します。
+ * 存在しない受講生IDと同様に、検索結果が0件となります。
+ */
+@MappedTypes(String.class)
+@MappedJdbcTypes(JdbcType.BINARY)
+public class UuidBinaryTypeHandler extends BaseTypeHandler<String> {
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, String parameter,
+      JdbcType jdbcType) throws SQLException {
+    ps.setBytes(i, toBytes(parameter));
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return toUuidString(rs.getBytes(columnName));
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return toUuidString(rs.getBytes(columnIndex));
+  }
+
+  @Override
+  public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return toUuidString(cs.getBytes(columnIndex));
+  }
+
+  /**
+   * UUIDの文字列表現を16バイトに変換します。
+   *
+   * @param uuid UUIDの文字列表現
+   * @return 16バイトの値（UUIDの形式でない場合は空のバイト列）
+   */
+  static byte[] toBytes(String uuid) {
+    if (uuid.length() != 36 || uuid.charAt(8) != '-' || uuid.charAt(13) != '-'
+        || uuid.charAt(18) != '-' || uuid.charAt(23) != '-') {
+      return new byte[0];
+    }
+    String hex = uuid.substring(0, 8) + uuid.substring(9, 13) + uuid.substring(14, 18)
+        + uuid.substring(19, 23) + uuid.substring(24);
+    try {
+      return HEX.parseHex(hex);
+    } catch (IllegalArgumentException e) {
+      return new byte[0];
+    }
+  }
+
+  /**
+   * 16バイトの値を、UUIDの文字列表現（小文字）に変換します。
+   *
+   * @param bytes 16バイトの値
+   * @return UUIDの文字列表現（nullの場合はnull）
+   */
+  static String toUuidString(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length != 16) {
+      throw new IllegalArgumentException("受講生IDが16バイトではありません: " + bytes.length);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
@@ -0,0 +1,117 @@
+package raisetech.studentmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 登録・更新された受講生を、メモリ上のデータへコミット後にまとめて反映するためのクラスです。
+ * スナップショットや索引など、受講生の一部を差し替えると全体の作り直しになるデータで使用します。
+ * <p>
+ * 受け付けた受講生IDは、別スレッドで1回の差し替えにまとめて渡します。
+ * 差し替えの実行中に受け付けた受講生IDは、次回の差し替えで渡します。
+ * 差し替えは、全件の読み込みと共通のロックを取得して行い、古い読み込み結果で新しい内容を上書きしないようにします。
+ */
+final class ChangedStudentRefresher {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangedStudentRefresher.class);
+
+  private final String description;
+  private final ReentrantLock refreshLock;
+  private final Consumer<List<String>> refresh;
+
+  // 差し替え待ちの受講生IDと、差し替え処理が実行待ちかどうか
+  private final Set<String> pendingStudentIds = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+  // コミット後の再読み込みを行うスレッド。コミット後のコールバック内ではデータベースにアクセスしないよう、別スレッドで行う
+  private final ExecutorService refreshExecutor;
+
+  /**
+   * コンストラクタ
+   *
+   * @param threadName  差し替えを行うスレッドの名前
+   * @param description 差し替え対象のデータの説明（ログに使用する）
+   * @param refreshLock 全件の読み込みと共通の、更新処理を1つずつ行うためのロック
+   * @param refresh     受講生IDのリストを受け取り、データを差し替える処理
+   */
+  ChangedStudentRefresher(String threadName, String description, ReentrantLock refreshLock,
+      Consumer<List<String>> refresh) {
+    this.description = description;
+    this.refreshLock = refreshLock;
+    this.refresh = refresh;
+    this.refreshExecutor = Executors.newSingleThreadExecutor(
+        runnable -> new Thread(runnable, threadName));
+  }
+
+  /**
+   * 差し替える受講生IDを受け付けます。
+   * 差し替えは別スレッドで行うため、呼び出し元の処理時間には影響しません。
+   *
+   * @param studentIds 登録・更新された受講生ID
+   */
+  void submit(Collection<String> studentIds) {
+    pendingStudentIds.addAll(studentIds);
+    if (refreshScheduled.compareAndSet(false, true)) {
+      refreshExecutor.execute(this::refreshPending);
+    }
+  }
+
+  void shutdown() {
+    refreshExecutor.shutdown();
+  }
+
+  /**
+   * 指定した受講生IDの受講生詳細情報を、{@code chunkSize}件ずつのIN検索でまとめて読み込みます。
+   *
+   * @param repository 受講生リポジトリ
+   * @param studentIds 受講生IDのリスト
+   * @param chunkSize  1回のIN検索にまとめる受講生IDの件数
+   * @return 受講生IDと受講生詳細情報の組み合わせ（見つからなかった受講生IDの値はnull）
+   */
+  static Map<String, StudentDetail> loadStudentDetails(StudentRepository repository,
+      List<String> studentIds, int chunkSize) {
+    // 値がnullのエントリーを扱うため、HashMapを使用する
+    Map<String, StudentDetail> studentDetails = new HashMap<>();
+    studentIds.forEach(studentId -> studentDetails.put(studentId, null));
+    for (int from = 0; from < studentIds.size(); from += chunkSize) {
+      List<String> chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+      repository.findStudentDetailsByIds(chunk).forEach(studentDetail -> studentDetails.put(
+          studentDetail.getStudent().getStudentId(), studentDetail));
+    }
+    return studentDetails;
+  }
+
+  private void refreshPending() {
+    // 実行中に追加された受講生IDは、次回の実行で反映する
+    refreshScheduled.set(false);
+    List<String> studentIds = new ArrayList<>(pendingStudentIds);
+    pendingStudentIds.removeAll(studentIds);
+    if (studentIds.isEmpty()) {
+      return;
+    }
+
+    refreshLock.lock();
+    try {
+      refresh.accept(studentIds);
+    } catch (RuntimeException e) {
+      // 読み込みに失敗した場合は、次回の全件の読み込みで反映される
+      log.warn("{}の差し替えに失敗しました: {}", description, studentIds, e);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+}
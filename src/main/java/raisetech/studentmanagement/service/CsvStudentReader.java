@@ -0,0 +1,219 @@
+package raisetech.studentmanagement.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * CSV形式（RFC 4180、UTF-8、見出し行あり）のファイルを読み込むクラスです。
+ * <p>
+ * 列は見出し行の名前で判定するため、列の順序は問いません。列名はエクスポート（{@code GET /students/export}）と同じです。
+ * 受講生ID・論理削除状態・コースIDの列は、登録時に付与されるため読み込みません。<br>
+ * 同じメールアドレスの行が連続する場合は、1人の受講生が複数のコースを受講しているものとしてまとめます。
+ */
+final class CsvStudentReader implements StudentRecordReader {
+
+  private static final List<String> REQUIRED_COLUMNS = List.of(
+      "fullName", "furiganaName", "nickName", "phoneNumber", "mailAddress", "municipalityName",
+      "age", "sex", "occupation");
+
+  private final BufferedReader reader;
+  private final Map<String, Integer> columns = new HashMap<>();
+
+  // 1項目分の文字列を組み立てるバッファ。項目ごとに使い回す
+  private final StringBuilder field = new StringBuilder();
+
+  // 先読みした行と、その行の位置
+  private List<String> pending;
+  private long pendingIndex;
+  private long rowCount;
+
+  /**
+   * コンストラクタ
+   * 見出し行を読み込み、必須の列がそろっているかを確認します。
+   *
+   * @param reader 読み込み元
+   * @throws IOException              ファイルの読み込みに失敗した場合
+   * @throws IllegalArgumentException 見出し行がない、または必須の列がない場合
+   */
+  CsvStudentReader(BufferedReader reader) throws IOException {
+    this.reader = reader;
+
+    List<String> header = readRow();
+    if (header == null) {
+      throw new IllegalArgumentException("CSVファイルに見出し行がありません");
+    }
+    for (int i = 0; i < header.size(); i++) {
+      String name = header.get(i).trim();
+      // 表計算ソフトで保存したファイルの先頭に付くBOMを除く
+      if (i == 0 && name.startsWith("\uFEFF")) {
+        name = name.substring(1);
+      }
+      columns.put(name, i);
+    }
+    List<String> missing = REQUIRED_COLUMNS.stream()
+        .filter(column -> !columns.containsKey(column))
+        .toList();
+    if (!missing.isEmpty()) {
+      throw new IllegalArgumentException("CSVファイルに必須の列がありません: " + missing);
+    }
+    advance();
+  }
+
+  @Override
+  public ImportRecord next() throws IOException {
+    if (pending == null) {
+      return null;
+    }
+    long index = pendingIndex;
+    Map<String, String> errors = new LinkedHashMap<>();
+    Student student = toStudent(pending, errors);
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    addStudentCourse(pending, studentCourses, errors);
+    advance();
+
+    String mailAddress = student.getMailAddress();
+    while (pending != null && mailAddress != null
+        && mailAddress.equals(value(pending, "mailAddress"))) {
+      addStudentCourse(pending, studentCourses, errors);
+      advance();
+    }
+    return new ImportRecord(index, new StudentDetail(student, studentCourses), errors);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private Student toStudent(List<String> row, Map<String, String> errors) {
+    Student student = new Student();
+    student.setFullName(value(row, "fullName"));
+    student.setFuriganaName(value(row, "furiganaName"));
+    student.setNickName(value(row, "nickName"));
+    student.setPhoneNumber(value(row, "phoneNumber"));
+    student.setMailAddress(value(row, "mailAddress"));
+    student.setMunicipalityName(value(row, "municipalityName"));
+    student.setSex(value(row, "sex"));
+    student.setOccupation(value(row, "occupation"));
+    student.setRemark(value(row, "remark"));
+
+    String age = value(row, "age");
+    if (age != null) {
+      try {
+        student.setAge(Integer.valueOf(age));
+      } catch (NumberFormatException e) {
+        errors.put("student.age", "年齢は数値で入力してください");
+      }
+    }
+    return student;
+  }
+
+  /**
+   * 行にコース情報がある場合、受講生コース情報として追加します。
+   */
+  private void addStudentCourse(List<String> row, List<StudentCourse> studentCourses,
+      Map<String, String> errors) {
+    String courseName = value(row, "courseName");
+    String startDate = value(row, "courseStartDate");
+    String expectedEndDate = value(row, "courseExpectedEndDate");
+    if (courseName == null && startDate == null && expectedEndDate == null) {
+      return;
+    }
+
+    String prefix = "studentsCourses[" + studentCourses.size() + "].";
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setCourseName(courseName);
+    studentCourse.setCourseStartDate(toDate(startDate, prefix + "courseStartDate", errors));
+    studentCourse.setCourseExpectedEndDate(
+        toDate(expectedEndDate, prefix + "courseExpectedEndDate", errors));
+    studentCourses.add(studentCourse);
+  }
+
+  private static LocalDate toDate(String value, String field, Map<String, String> errors) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      errors.put(field, "日付はyyyy-MM-dd形式で入力してください");
+      return null;
+    }
+  }
+
+  /**
+   * 行から、指定した列の値を取得します。前後の空白は除き、空の場合はnullを返します。
+   */
+  private String value(List<String> row, String column) {
+    Integer i = columns.get(column);
+    if (i == null || i >= row.size()) {
+      return null;
+    }
+    String value = row.get(i).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  /**
+   * 次のデータ行を先読みします。空行は読み飛ばします。
+   */
+  private void advance() throws IOException {
+    do {
+      pending = readRow();
+    } while (pending != null && pending.size() == 1 && pending.get(0).isBlank());
+    pendingIndex = rowCount++;
+  }
+
+  /**
+   * 1行分の項目を読み込みます。ダブルクォートで囲まれた項目は、カンマや改行を含めて1項目として扱います。
+   *
+   * @return 項目のリスト（ファイルの末尾に達した場合はnull）
+   */
+  private List<String> readRow() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> row = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("CSVファイルのダブルクォートが閉じられていません");
+        }
+        if (c == '"') {
+          int following = reader.read();
+          if (following != '"') {
+            // 閉じのダブルクォート。続く文字は、囲みの外として処理する
+            quoted = false;
+            c = following;
+            continue;
+          }
+        }
+        field.append((char) c);
+      } else if (c == -1 || c == '\n') {
+        row.add(field.toString());
+        return row;
+      } else if (c == ',') {
+        row.add(field.toString());
+        field.setLength(0);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package raisetech.studentmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * コースIDから、そのコースを受講している受講生の受講生コース情報を引くための索引（転置インデックス）です。
+ * {@code student.enrollment-index.enabled=true} の場合のみ有効になります。
+ * <p>
+ * 「あるコースの受講生一覧」を、受講生コース情報の全件ではなく、該当件数に比例した時間で返せます。
+ * コースごとの受講生コース情報は、受講生IDの昇順で保持します。
+ * <ul>
+ *   <li>起動完了時に、受講生コース情報の全件を読み込みます。</li>
+ *   <li>登録・更新のコミット後に、登録・更新した受講生コース情報を反映します。
+ *       アーカイブのコミット後に、アーカイブした受講生の受講生コース情報を取り除きます。</li>
+ *   <li>反映漏れに備えて、一定間隔で全件を再読み込みします。</li>
+ * </ul>
+ * 参照側はロックを取得しません。反映処理と全件の再読み込みは1つずつ順番に行います。
+ */
+@Component
+@ConditionalOnProperty(name = "student.enrollment-index.enabled", havingValue = "true")
+public class EnrollmentIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(EnrollmentIndex.class);
+
+  private final StudentRepository repository;
+
+  // コースID → (受講生ID → 受講生コース情報)。読み込み完了前はnull
+  private final AtomicReference<Map<String, NavigableMap<String, StudentCourse>>> current =
+      new AtomicReference<>();
+
+  // 反映処理と全件の再読み込みを1つずつ行うためのロック。参照側は使用しない
+  // 全件の読み込み中も保持するため、synchronizedではなくReentrantLockを使用する（仮想スレッド対応）
+  private final ReentrantLock updateLock = new ReentrantLock();
+
+  public EnrollmentIndex(StudentRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 索引の読み込みが完了しているかどうかを返します。
+   *
+   * @return 読み込みが完了している場合はtrue
+   */
+  boolean isReady() {
+    return current.get() != null;
+  }
+
+  /**
+   * 指定したコースの受講生コース情報を、受講生IDの昇順で取得します。
+   *
+   * @param courseId コースID
+   * @return 受講生コース情報のリスト（読み込み完了前、または受講生がいない場合は空）
+   */
+  List<StudentCourse> getStudentCourses(String courseId) {
+    return new ArrayList<>(coursesOf(courseId).values());
+  }
+
+  /**
+   * 指定したコースの受講生コース情報のうち、キーが指定したキーより後のものを、受講生IDの昇順で取得します。
+   * キーの順序は、（受講生ID, コースID）の昇順です。
+   *
+   * @param courseId       コースID
+   * @param afterStudentId このキーより後を取得（nullの場合は先頭から）
+   * @param afterCourseId  このキーより後を取得
+   * @param limit          取得件数の上限
+   * @return 受講生コース情報のリスト
+   */
+  List<StudentCourse> getStudentCoursesAfter(String courseId, String afterStudentId,
+      String afterCourseId, int limit) {
+    NavigableMap<String, StudentCourse> courses = coursesOf(courseId);
+    if (afterStudentId != null) {
+      // 同じ受講生の行は、コースIDがカーソルより大きい場合のみ対象
+      courses = courses.tailMap(afterStudentId, courseId.compareTo(afterCourseId) > 0);
+    }
+    return courses.values().stream().limit(limit).toList();
+  }
+
+  /**
+   * 登録・更新された受講生コース情報を、コミット後に索引へ反映します。
+   * アーカイブされた受講生の場合は、その受講生の受講生コース情報を索引から取り除きます。
+   *
+   * @param event 受講生詳細情報の登録・更新イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentsChanged(StudentsChangedEvent event) {
+    if (event.removed()) {
+      remove(event.studentIds());
+      return;
+    }
+    // 呼び出し元で変更されても影響がないよう、コピーを保持する
+    put(event.studentCourses().stream()
+        .map(course -> new StudentCourse(course.getCourseId(), course.getStudentId(),
+            course.getCourseName(), course.getCourseStartDate(),
+            course.getCourseExpectedEndDate()))
+        .toList());
+  }
+
+  /**
+   * 受講生コース情報の全件を読み込み、索引を作り直します。
+   * 起動完了時と、{@code student.enrollment-index.reconcile-interval}の間隔で実行します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${student.enrollment-index.reconcile-interval:5m}",
+      initialDelayString = "${student.enrollment-index.reconcile-interval:5m}")
+  public void reload() {
+    updateLock.lock();
+    try {
+      Map<String, NavigableMap<String, StudentCourse>> index = new ConcurrentHashMap<>();
+      List<StudentCourse> studentCourses = repository.searchCourses();
+      studentCourses.forEach(course -> putInto(index, course));
+      current.set(index);
+      log.info("受講生コース情報の索引を読み込みました（{}件）", studentCourses.size());
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  private void put(List<StudentCourse> studentCourses) {
+    updateLock.lock();
+    try {
+      Map<String, NavigableMap<String, StudentCourse>> index = current.get();
+      if (index == null) {
+        // 全件の読み込み前の場合は、全件の読み込み時に反映される
+        return;
+      }
+      studentCourses.forEach(course -> putInto(index, course));
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  private void remove(List<String> studentIds) {
+    updateLock.lock();
+    try {
+      Map<String, NavigableMap<String, StudentCourse>> index = current.get();
+      if (index == null) {
+        // 全件の読み込み前の場合は、全件の読み込み時に反映される
+        return;
+      }
+      // コースの数は少ないため、すべてのコースから受講生IDで取り除く
+      index.values().forEach(courses -> studentIds.forEach(courses::remove));
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  private static void putInto(Map<String, NavigableMap<String, StudentCourse>> index,
+      StudentCourse studentCourse) {
+    index.computeIfAbsent(studentCourse.getCourseId(), courseId -> new ConcurrentSkipListMap<>())
+        .put(studentCourse.getStudentId(), studentCourse);
+  }
+
+  private NavigableMap<String, StudentCourse> coursesOf(String courseId) {
+    Map<String, NavigableMap<String, StudentCourse>> index = current.get();
+    if (index == null) {
+      return new ConcurrentSkipListMap<>();
+    }
+    return index.getOrDefault(courseId, new ConcurrentSkipListMap<>());
+  }
+}
@@ -0,0 +1,90 @@
+package raisetech.studentmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import raisetech.studentmanagement.domain.BatchItemError;
+import raisetech.studentmanagement.domain.ImportJobStatus;
+import raisetech.studentmanagement.domain.ImportJobStatus.State;
+
+/**
+ * 実行中のインポートジョブの進捗を保持するクラスです。
+ * インポートを行うスレッドが更新し、状態の取得（{@link #toStatus()}）は任意のスレッドから行います。
+ */
+final class ImportJob {
+
+  private final String jobId;
+  private final String format;
+  private final int maxRejects;
+  private final LocalDateTime createdAt = LocalDateTime.now();
+
+  private State state = State.QUEUED;
+  private long processedCount;
+  private long registeredCount;
+  private long rejectedCount;
+  private final List<BatchItemError> rejects = new ArrayList<>();
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String failureReason;
+
+  /**
+   * コンストラクタ
+   *
+   * @param jobId      インポートジョブID
+   * @param format     ファイルの形式
+   * @param maxRejects エラー内容を保持する件数の上限（件数は上限を超えても数える）
+   */
+  ImportJob(String jobId, String format, int maxRejects) {
+    this.jobId = jobId;
+    this.format = format;
+    this.maxRejects = maxRejects;
+  }
+
+  String getJobId() {
+    return jobId;
+  }
+
+  synchronized void start() {
+    state = State.RUNNING;
+    startedAt = LocalDateTime.now();
+  }
+
+  synchronized void addProcessed(long processed, long registered) {
+    processedCount += processed;
+    registeredCount += registered;
+  }
+
+  synchronized void reject(long index, Map<String, String> errors) {
+    rejectedCount++;
+    if (rejects.size() < maxRejects) {
+      rejects.add(new BatchItemError((int) index, errors));
+    }
+  }
+
+  synchronized void complete() {
+    state = State.COMPLETED;
+    finishedAt = LocalDateTime.now();
+  }
+
+  synchronized void fail(String reason) {
+    state = State.FAILED;
+    finishedAt = LocalDateTime.now();
+    failureReason = reason;
+  }
+
+  /**
+   * 終了（完了または中断）してから、指定した日時より前かどうかを返します。
+   */
+  synchronized boolean finishedBefore(LocalDateTime dateTime) {
+    return finishedAt != null && finishedAt.isBefore(dateTime);
+  }
+
+  synchronized ImportJobStatus toStatus() {
+    return new ImportJobStatus(jobId, state, format, processedCount, registeredCount,
+        rejectedCount,
+        rejects.stream().sorted(Comparator.comparingInt(BatchItemError::getIndex)).toList(),
+        createdAt, startedAt, finishedAt, failureReason);
+  }
+}
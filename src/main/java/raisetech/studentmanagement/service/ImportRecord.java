@@ -0,0 +1,15 @@
+package raisetech.studentmanagement.service;
+
+import java.util.Map;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * インポートするファイルから読み込んだ、受講生詳細情報1件分です。
+ *
+ * @param index         ファイル内のデータ行の位置（0始まり。見出し行を除く）
+ * @param studentDetail 読み込んだ受講生詳細情報（読み込めなかった場合はnull）
+ * @param errors        読み込み時に見つかった不備（項目名とエラーメッセージの組み合わせ。不備がない場合は空）
+ */
+record ImportRecord(long index, StudentDetail studentDetail, Map<String, String> errors) {
+
+}
@@ -0,0 +1,51 @@
+package raisetech.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * NDJSON（1行に1件の受講生詳細情報のJSON）形式のファイルを読み込むクラスです。
+ * JSONとして読み込めない行は、その行のみを不備として扱い、次の行から読み込みを続けます。
+ */
+final class NdjsonStudentReader implements StudentRecordReader {
+
+  private final BufferedReader reader;
+  private final ObjectReader objectReader;
+  private long index;
+
+  NdjsonStudentReader(BufferedReader reader, ObjectMapper objectMapper) {
+    this.reader = reader;
+    this.objectReader = objectMapper.readerFor(StudentDetail.class);
+  }
+
+  @Override
+  public ImportRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+
+    long current = index++;
+    try {
+      return new ImportRecord(current, objectReader.readValue(line), Map.of());
+    } catch (JsonProcessingException e) {
+      Map<String, String> errors = new LinkedHashMap<>();
+      errors.put("line", "JSONの形式が正しくありません");
+      return new ImportRecord(current, null, errors);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,188 @@
+package raisetech.studentmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import raisetech.studentmanagement.data.CourseType;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+/**
+ * ある時点の受講生詳細情報の全件を、受講生IDの昇順で保持する不変のスナップショットです。
+ * <p>
+ * 一覧取得でよく使う絞り込み（論理削除済みの除外、コース名による絞り込み）の結果は、生成時にあらかじめ計算しておきます。
+ * 生成後は変更しないため、複数のスレッドからロックなしで参照できます。
+ * 内容を変更する場合は、{@link #withStudentDetails(Map, StudentVersion)}で新しいスナップショットを生成します。
+ * <p>
+ * 内容を読み込む直前に取得した受講生情報全体のバージョンを保持し、スナップショットから返す一覧のETag・Last-Modifiedに使用します。
+ */
+final class RosterSnapshot {
+
+  private final NavigableMap<String, StudentDetail> studentDetailsById;
+  private final StudentVersion version;
+  private final List<StudentDetail> studentDetails;
+  private final List<StudentDetail> notDeletedStudentDetails;
+  private final List<StudentCourse> studentCourses;
+  private final Map<String, List<StudentCourse>> studentCoursesByCourseName;
+
+  private RosterSnapshot(NavigableMap<String, StudentDetail> studentDetailsById,
+      StudentVersion version) {
+    this.studentDetailsById = Collections.unmodifiableNavigableMap(studentDetailsById);
+    this.version = version;
+    this.studentDetails = List.copyOf(studentDetailsById.values());
+
+    List<StudentDetail> notDeleted = new ArrayList<>();
+    List<StudentCourse> courses = new ArrayList<>();
+    Map<String, List<StudentCourse>> coursesByName = new HashMap<>();
+
+    for (StudentDetail studentDetail : studentDetails) {
+      if (!studentDetail.getStudent().isDeleted()) {
+        notDeleted.add(studentDetail);
+      }
+      for (StudentCourse studentCourse : studentDetail.getStudentsCourses()) {
+        courses.add(studentCourse);
+        coursesByName.computeIfAbsent(normalize(studentCourse.getCourseName()),
+            name -> new ArrayList<>()).add(studentCourse);
+      }
+    }
+
+    this.notDeletedStudentDetails = List.copyOf(notDeleted);
+    this.studentCourses = List.copyOf(courses);
+    this.studentCoursesByCourseName = Map.copyOf(coursesByName);
+  }
+
+  /**
+   * 受講生詳細情報の全件からスナップショットを生成します。
+   *
+   * @param studentDetails 受講生詳細情報の全件
+   * @param version        受講生詳細情報を読み込む直前の、受講生情報全体のバージョン
+   * @return スナップショット
+   */
+  static RosterSnapshot of(Collection<StudentDetail> studentDetails, StudentVersion version) {
+    NavigableMap<String, StudentDetail> byId = new TreeMap<>();
+    studentDetails.forEach(
+        studentDetail -> byId.put(studentDetail.getStudent().getStudentId(), studentDetail));
+    return new RosterSnapshot(byId, version);
+  }
+
+  /**
+   * 指定した受講生の受講生詳細情報だけを差し替えた、新しいスナップショットを生成します。
+   * このスナップショット自体は変更しません（コピーオンライト）。
+   * 生成には全件の件数に比例した時間がかかるため、複数の受講生の差し替えはまとめて1回で行います。
+   *
+   * @param replacements 受講生IDと差し替え後の受講生詳細情報の組み合わせ（値がnullの場合は削除）
+   * @param version      差し替え後の受講生詳細情報を読み込む直前の、受講生情報全体のバージョン
+   * @return 新しいスナップショット
+   */
+  RosterSnapshot withStudentDetails(Map<String, StudentDetail> replacements,
+      StudentVersion version) {
+    NavigableMap<String, StudentDetail> byId = new TreeMap<>(studentDetailsById);
+    replacements.forEach((studentId, studentDetail) -> {
+      if (studentDetail == null) {
+        byId.remove(studentId);
+      } else {
+        byId.put(studentId, studentDetail);
+      }
+    });
+    return new RosterSnapshot(byId, version);
+  }
+
+  StudentVersion getVersion() {
+    return version;
+  }
+
+  List<StudentDetail> getStudentDetails() {
+    return studentDetails;
+  }
+
+  List<StudentDetail> getNotDeletedStudentDetails() {
+    return notDeletedStudentDetails;
+  }
+
+  /**
+   * 受講生コース情報を取得します。
+   *
+   * @param courseName コース名（nullまたは空文字の場合は全件。大文字小文字の区別はしない）
+   * @return 受講生コース情報のリスト
+   */
+  List<StudentCourse> getStudentCourses(String courseName) {
+    if (courseName == null || courseName.trim().isEmpty()) {
+      return studentCourses;
+    }
+    return studentCoursesByCourseName.getOrDefault(normalize(courseName), List.of());
+  }
+
+  /**
+   * 指定した受講生IDより後の受講生詳細情報を、受講生IDの昇順で取得します。
+   *
+   * @param deleted        論理削除状態（nullの場合は論理削除済みの受講生を含む）
+   * @param afterStudentId この受講生IDより後を取得（nullの場合は先頭から）
+   * @param limit          取得件数の上限
+   * @return 受講生詳細情報のリスト
+   */
+  List<StudentDetail> getStudentDetailsAfter(Boolean deleted, String afterStudentId, int limit) {
+    Collection<StudentDetail> candidates = afterStudentId == null
+        ? studentDetailsById.values()
+        : studentDetailsById.tailMap(afterStudentId, false).values();
+
+    List<StudentDetail> page = new ArrayList<>();
+    for (StudentDetail studentDetail : candidates) {
+      if (page.size() >= limit) {
+        break;
+      }
+      if (deleted == null || studentDetail.getStudent().isDeleted() == deleted) {
+        page.add(studentDetail);
+      }
+    }
+    return page;
+  }
+
+  /**
+   * 指定したキーより後の受講生コース情報を、（受講生ID, コースID）の昇順で取得します。
+   *
+   * @param courseName     コース名（nullまたは空文字の場合は全件。大文字小文字の区別はしない）
+   * @param afterStudentId このキーより後を取得（nullの場合は先頭から）
+   * @param afterCourseId  このキーより後を取得
+   * @param limit          取得件数の上限
+   * @return 受講生コース情報のリスト
+   */
+  List<StudentCourse> getStudentCoursesAfter(String courseName, String afterStudentId,
+      String afterCourseId, int limit) {
+    Collection<StudentDetail> candidates = afterStudentId == null
+        ? studentDetailsById.values()
+        : studentDetailsById.tailMap(afterStudentId, true).values();
+    boolean filterByName = courseName != null && !courseName.trim().isEmpty();
+
+    List<StudentCourse> page = new ArrayList<>();
+    for (StudentDetail studentDetail : candidates) {
+      // 受講生ごとのコース情報は、取得時のSQLによりコースIDの昇順に並んでいる
+      for (StudentCourse studentCourse : studentDetail.getStudentsCourses()) {
+        if (page.size() >= limit) {
+          return page;
+        }
+        boolean afterCursor = afterStudentId == null
+            || !studentCourse.getStudentId().equals(afterStudentId)
+            || studentCourse.getCourseId().compareTo(afterCourseId) > 0;
+        if (afterCursor && (!filterByName
+            || normalize(studentCourse.getCourseName()).equals(normalize(courseName)))) {
+          page.add(studentCourse);
+        }
+      }
+    }
+    return page;
+  }
+
+  int size() {
+    return studentDetailsById.size();
+  }
+
+  private static String normalize(String courseName) {
+    return CourseType.normalizeCourseName(courseName);
+  }
+}
@@ -0,0 +1,66 @@
+package raisetech.studentmanagement.service;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 論理削除済みの受講生のアーカイブを、バックグラウンドで定期的に実行するコンポーネントです。
+ * <p>
+ * {@code student.archive.interval}の間隔で、論理削除から{@code student.archive.retention}が経過した受講生を、
+ * {@code student.archive.chunk-size}人ずつ別のトランザクションでアーカイブします。
+ * 1回の実行でアーカイブするのは最大{@code student.archive.max-chunks-per-run}チャンクまでとし、残りは次回の実行に回します。<br>
+ * {@code student.archive.enabled=true}の場合のみ有効です。
+ */
+@Component
+@ConditionalOnProperty(name = "student.archive.enabled", havingValue = "true")
+public class StudentArchiveJob {
+
+  private static final Logger log = LoggerFactory.getLogger(StudentArchiveJob.class);
+
+  private final StudentArchiveService archiveService;
+  private final Duration retention;
+  private final int chunkSize;
+  private final int maxChunksPerRun;
+
+  public StudentArchiveJob(StudentArchiveService archiveService,
+      @Value("${student.archive.retention:180d}") Duration retention,
+      @Value("${student.archive.chunk-size:500}") int chunkSize,
+      @Value("${student.archive.max-chunks-per-run:100}") int maxChunksPerRun) {
+    this.archiveService = archiveService;
+    this.retention = retention;
+    this.chunkSize = chunkSize;
+    this.maxChunksPerRun = maxChunksPerRun;
+  }
+
+  /**
+   * 論理削除から一定期間が経過した受講生を、チャンク単位でアーカイブします。
+   */
+  @Scheduled(fixedDelayString = "${student.archive.interval:1h}",
+      initialDelayString = "${student.archive.interval:1h}")
+  public void run() {
+    long start = System.nanoTime();
+    int archived = 0;
+    try {
+      for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+        int count = archiveService.archiveDeletedStudents(retention, chunkSize);
+        archived += count;
+        if (count < chunkSize) {
+          break;
+        }
+      }
+    } catch (RuntimeException e) {
+      // 失敗したチャンクはロールバックされ、次回の実行で再度対象となる
+      log.warn("論理削除済みの受講生のアーカイブに失敗しました（{}件をアーカイブ済み）", archived, e);
+      return;
+    }
+    if (archived > 0) {
+      log.info("論理削除済みの受講生をアーカイブしました（{}件, {}ms）", archived,
+          (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+}
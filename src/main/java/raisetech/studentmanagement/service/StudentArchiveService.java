@@ -0,0 +1,75 @@
+package raisetech.studentmanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 論理削除済みの受講生のアーカイブに関するビジネスロジックを提供する、Serviceクラスです。
+ * <p>
+ * 論理削除から一定期間が経過した受講生の受講生情報と受講生コース情報を、アーカイブテーブル
+ * （students_archive・students_courses_archive）に移動します。
+ * 一覧取得や集計などで読み込む受講生情報テーブルとそのインデックスを、論理削除済みの受講生の分だけ小さく保つためのものです。
+ * <ul>
+ *   <li>アーカイブ済みの受講生も、個別取得（{@link StudentService#getStudentDetailById(String)}）では取得できます。</li>
+ *   <li>アーカイブ済みの受講生を更新した場合は、元のテーブルに戻してから更新します。</li>
+ *   <li>一覧取得・検索・集計には含まれません。</li>
+ * </ul>
+ * 定期的な実行は{@link StudentArchiveJob}が行います。<br>
+ * 各メソッドの処理時間は、メトリクス{@code student.service}として記録します。
+ */
+@Timed(value = "student.service", histogram = true)
+@Service
+public class StudentArchiveService {
+
+  private final StudentRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository     受講生リポジトリ
+   * @param eventPublisher アーカイブした受講生の通知に使用するApplicationEventPublisher
+   */
+  @Autowired
+  public StudentArchiveService(StudentRepository repository,
+      ApplicationEventPublisher eventPublisher) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * 論理削除から指定した期間が経過した受講生を、最大{@code limit}人アーカイブします。
+   * <p>
+   * 1回の呼び出しを1つのトランザクションとし、行ロックを保持する時間と件数を制限します。
+   * 論理削除からの経過期間は、受講生情報の最終更新日時で判定します（論理削除後に更新された場合は、その時点から数えます）。
+   *
+   * @param retention 論理削除からアーカイブまでの期間
+   * @param limit     1回でアーカイブする人数の上限
+   * @return アーカイブした人数
+   */
+  @Transactional
+  public int archiveDeletedStudents(Duration retention, int limit) {
+    List<String> studentIds = repository.findArchivableStudentIds(retention.toMillis(), limit);
+    if (studentIds.isEmpty()) {
+      return 0;
+    }
+
+    repository.archiveStudents(studentIds);
+    repository.archiveStudentCourses(studentIds);
+    // 外部キー制約があるため、受講生コース情報を先に削除する
+    repository.deleteStudentCourses(studentIds);
+    repository.deleteStudents(studentIds);
+    // 一覧取得のETag・Last-Modifiedが変わるよう、受講生情報全体のバージョンを増やす
+    repository.incrementRosterVersion();
+
+    // キャッシュやメモリ上の索引から、コミット後に取り除く
+    eventPublisher.publishEvent(StudentsChangedEvent.removed(studentIds));
+    return studentIds.size();
+  }
+}
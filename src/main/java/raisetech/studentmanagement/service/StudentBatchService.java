@@ -0,0 +1,320 @@
+package raisetech.studentmanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.studentmanagement.data.ChangeType;
+import raisetech.studentmanagement.data.CourseType;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.BatchItemError;
+import raisetech.studentmanagement.domain.BatchRegistrationResult;
+import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.exception.CourseNotFoundException;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 受講生詳細情報の一括登録に関するビジネスロジックを提供する、Serviceクラスです。
+ * <p>
+ * MyBatisのBATCHモード（ExecutorType.BATCH）で、複数行をまとめたINSERT文をチャンク単位で発行します。
+ * 同一トランザクション内ではExecutorTypeを混在できないため、このクラスのデータベース操作は
+ * すべてBATCHモードのRepositoryを通じて行います。<br>
+ * 制約違反時に1件ずつ登録し直すため、トランザクションは{@link TransactionTemplate}で開始します。<br>
+ * 各メソッドの処理時間は、メトリクス{@code student.service}として記録します。
+ */
+@Timed(value = "student.service", histogram = true)
+@Service
+public class StudentBatchService {
+
+  private static final Logger log = LoggerFactory.getLogger(StudentBatchService.class);
+
+  private final StudentRepository batchRepository;
+  private final SqlSessionTemplate batchSqlSession;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+
+  /**
+   * コンストラクタ
+   *
+   * @param sqlSessionFactory  MyBatisのSqlSessionFactory
+   * @param transactionManager 登録のトランザクションに使用するトランザクションマネージャー
+   * @param validator          Bean Validationのバリデーター
+   * @param eventPublisher     登録イベントの発行に使用するApplicationEventPublisher
+   * @param chunkSize          1回のINSERT文で登録する件数
+   */
+  @Autowired
+  public StudentBatchService(SqlSessionFactory sqlSessionFactory,
+      PlatformTransactionManager transactionManager, Validator validator,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${student.batch.chunk-size:500}") int chunkSize) {
+    // Beanとして登録すると既定のSqlSessionTemplateが無効になるため、このクラス専用に生成する
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    this.batchRepository = batchSqlSession.getMapper(StudentRepository.class);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * 受講生詳細情報を一括で登録します。
+   * <p>
+   * 登録前に1件ずつ入力チェックを行い、不備のある受講生詳細情報は登録せずにエラー内容を返します。
+   * 入力チェックの内容は、Bean Validationの制約、コース名の存在、メールアドレスの重複（リクエスト内および登録済みデータ。大文字・小文字と前後の空白は区別しない）です。<br>
+   * 不備のない受講生詳細情報は、1つのトランザクション内でチャンク単位にまとめて登録します。
+   * 受講生IDの付与、コース日付の補完は、{@link StudentService#registerStudent(StudentDetail)}と同様に行います。
+   * <p>
+   * 入力チェックをすり抜けた一意制約などの違反（照合順序でのみ一致するメールアドレスや、同時に登録されたメールアドレスなど）で
+   * 登録に失敗した場合は、まとめた登録をロールバックし、1件ずつ別のトランザクションで登録し直します。
+   * 制約に違反した受講生詳細情報のみをエラーとし、それ以外は登録します。
+   *
+   * @param studentDetails 登録対象の受講生詳細情報のリスト
+   * @return 一括登録の結果（登録件数と、登録できなかった受講生詳細情報ごとのエラー内容）
+   */
+  public BatchRegistrationResult registerStudents(List<StudentDetail> studentDetails) {
+    try {
+      return transactionTemplate.execute(status -> registerInTransaction(studentDetails));
+    } catch (DataIntegrityViolationException e) {
+      // まとめた登録は全体がロールバックされるため、1件ずつ登録し直して原因の受講生詳細情報のみをエラーとする
+      log.info("一括登録に失敗したため、1件ずつ登録し直します（{}件）", studentDetails.size(), e);
+      return registerOneByOne(studentDetails);
+    }
+  }
+
+  /**
+   * 受講生詳細情報を1件ずつ、それぞれ1つのトランザクションで登録します。
+   * 一意制約などのデータベースの制約に違反した場合は、その受講生詳細情報のエラーとします。
+   * 接続エラーなど、受講生詳細情報によらない例外はそのままスローします（登録済みの受講生詳細情報は登録されたまま残ります）。
+   *
+   * @param studentDetails 登録対象の受講生詳細情報のリスト
+   * @return 一括登録の結果（エラー内容の位置は、リクエスト内の位置）
+   */
+  private BatchRegistrationResult registerOneByOne(List<StudentDetail> studentDetails) {
+    int registeredCount = 0;
+    List<BatchItemError> errors = new ArrayList<>();
+
+    for (int i = 0; i < studentDetails.size(); i++) {
+      // 入力チェックでnullの要素をエラーにするため、nullを許容するリストで渡す
+      List<StudentDetail> single = Collections.singletonList(studentDetails.get(i));
+      try {
+        BatchRegistrationResult result = transactionTemplate.execute(
+            status -> registerInTransaction(single));
+        registeredCount += result.getRegisteredCount();
+        for (BatchItemError error : result.getErrors()) {
+          errors.add(new BatchItemError(i, error.getErrors()));
+        }
+      } catch (DuplicateKeyException e) {
+        // 受講生IDは重複しないため、一意制約に違反するのはメールアドレスのみ
+        errors.add(new BatchItemError(i,
+            Map.of("student.mailAddress", "メールアドレスは既に登録されています")));
+      } catch (DataIntegrityViolationException e) {
+        log.info("受講生詳細情報を登録できませんでした（リクエスト内の位置: {}）", i, e);
+        errors.add(new BatchItemError(i, Map.of("student", "データベースの制約により登録できません")));
+      }
+    }
+    return new BatchRegistrationResult(registeredCount, errors.size(), errors);
+  }
+
+  /**
+   * 受講生詳細情報の入力チェックを行い、不備のないものを1つのトランザクション内でまとめて登録します。
+   * トランザクション内で呼び出します。
+   */
+  private BatchRegistrationResult registerInTransaction(List<StudentDetail> studentDetails) {
+
+    // 入力チェックは1件ずつ独立しているため、並列に行う
+    List<Map<String, String>> validationErrors = studentDetails.parallelStream()
+        .map(this::validate)
+        .toList();
+
+    Map<String, Integer> indexByMailAddress = collectMailAddresses(studentDetails,
+        validationErrors);
+
+    Map<Integer, Map<String, String>> errorsByIndex = new HashMap<>();
+    for (int i = 0; i < studentDetails.size(); i++) {
+      if (!validationErrors.get(i).isEmpty()) {
+        errorsByIndex.put(i, validationErrors.get(i));
+      }
+    }
+
+    for (List<String> mailAddresses : chunk(new ArrayList<>(indexByMailAddress.keySet()))) {
+      rejectRegisteredMailAddresses(batchRepository.findExistingMailAddresses(mailAddresses),
+          indexByMailAddress, errorsByIndex);
+    }
+
+    List<Student> students = new ArrayList<>();
+    List<StudentCourse> studentCourses = new ArrayList<>();
+
+    for (int i = 0; i < studentDetails.size(); i++) {
+      if (errorsByIndex.containsKey(i)) {
+        continue;
+      }
+      StudentDetail studentDetail = studentDetails.get(i);
+      String studentUuid = StudentIdGenerator.next();
+
+      studentDetail.getStudent().setStudentId(studentUuid);
+      students.add(studentDetail.getStudent());
+
+      studentDetail.getStudentsCourses().forEach(studentCourse -> {
+        String courseId = CourseType.fromCourseName(studentCourse.getCourseName()).getCourseId();
+
+        StudentService.initStudentCourse(studentCourse, courseId, studentUuid);
+        StudentService.setDefaultCourseDatesIfNull(studentCourse);
+
+        studentCourses.add(studentCourse);
+      });
+    }
+
+    // 外部キー制約があるため、受講生情報を先に登録する
+    chunk(students).forEach(batchRepository::saveStudents);
+    chunk(studentCourses).forEach(batchRepository::saveStudentCourses);
+    // 変更の取得（GET /students/changes）用に、同じトランザクションで変更履歴に記録する
+    List<String> studentIds = students.stream().map(Student::getStudentId).toList();
+    chunk(studentIds).forEach(ids -> batchRepository.saveStudentChanges(ids, ChangeType.CREATED));
+    if (!studentIds.isEmpty()) {
+      // 受講生情報全体のバージョンの行ロックは、他の登録・更新を待たせるため、最後に取得する
+      batchRepository.incrementRosterVersion();
+    }
+    batchSqlSession.flushStatements();
+
+    // キャッシュやメモリ上の索引へ、コミット後に反映する
+    eventPublisher.publishEvent(new StudentsChangedEvent(studentIds, studentCourses));
+
+    List<BatchItemError> errors = errorsByIndex.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(entry -> new BatchItemError(entry.getKey(), entry.getValue()))
+        .toList();
+
+    return new BatchRegistrationResult(students.size(), errors.size(), errors);
+  }
+
+  /**
+   * 入力チェックに通った受講生詳細情報のメールアドレスを、{@link #mailAddressKey(String)}で正規化して集めます。
+   * リクエスト内で重複したメールアドレスは、2件目以降のエラー内容に追加します。
+   *
+   * @param studentDetails   受講生詳細情報のリスト
+   * @param validationErrors 受講生詳細情報ごとのエラー内容（重複したメールアドレスのエラーを追加する）
+   * @return 正規化したメールアドレスと、最初に現れた受講生詳細情報の位置の組み合わせ
+   */
+  static Map<String, Integer> collectMailAddresses(List<StudentDetail> studentDetails,
+      List<Map<String, String>> validationErrors) {
+    Map<String, Integer> indexByMailAddress = new HashMap<>();
+    for (int i = 0; i < studentDetails.size(); i++) {
+      Map<String, String> errors = validationErrors.get(i);
+      if (!errors.isEmpty()) {
+        continue;
+      }
+      String key = mailAddressKey(studentDetails.get(i).getStudent().getMailAddress());
+      if (indexByMailAddress.putIfAbsent(key, i) != null) {
+        errors.put("student.mailAddress", "リクエスト内でメールアドレスが重複しています");
+      }
+    }
+    return indexByMailAddress;
+  }
+
+  /**
+   * 既に登録されているメールアドレスの受講生詳細情報を、エラーとします。
+   *
+   * @param registeredMailAddresses データベースに登録されているメールアドレス（大文字・小文字はリクエストと異なる場合がある）
+   * @param indexByMailAddress      正規化したメールアドレスと、受講生詳細情報の位置の組み合わせ
+   * @param errorsByIndex           受講生詳細情報の位置ごとのエラー内容（エラーを追加する）
+   */
+  static void rejectRegisteredMailAddresses(List<String> registeredMailAddresses,
+      Map<String, Integer> indexByMailAddress, Map<Integer, Map<String, String>> errorsByIndex) {
+    for (String mailAddress : registeredMailAddresses) {
+      Integer index = indexByMailAddress.get(mailAddressKey(mailAddress));
+      if (index == null) {
+        // 照合順序でのみ一致する場合（アクセント記号の有無など）は特定できないため、登録時の一意制約に任せる
+        continue;
+      }
+      Map<String, String> errors = new LinkedHashMap<>();
+      errors.put("student.mailAddress", "メールアドレスは既に登録されています");
+      errorsByIndex.put(index, errors);
+    }
+  }
+
+  /**
+   * メールアドレスの重複判定に使用するキーを返します。
+   * データベースの照合順序（_ci）は大文字・小文字を区別しないため、前後の空白を除いて小文字に揃えます。
+   *
+   * @param mailAddress メールアドレス
+   * @return 重複判定に使用するキー
+   */
+  static String mailAddressKey(String mailAddress) {
+    return mailAddress.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 受講生詳細情報の入力チェックを行います。
+   * Bean Validationの制約と、コース名がEnumで定義されているかどうかを確認します。
+   *
+   * @param studentDetail 受講生詳細情報
+   * @return 項目名とエラーメッセージの組み合わせ（不備がない場合は空）
+   */
+  private Map<String, String> validate(StudentDetail studentDetail) {
+    Map<String, String> errors = new LinkedHashMap<>();
+
+    if (studentDetail == null || studentDetail.getStudent() == null) {
+      errors.put("student", "受講生情報は必須です");
+      return errors;
+    }
+    if (studentDetail.getStudentsCourses() == null) {
+      studentDetail.setStudentsCourses(new ArrayList<>());
+    }
+
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+    violations.forEach(violation ->
+        errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+    Set<String> courseIds = new HashSet<>();
+    for (int i = 0; i < studentDetail.getStudentsCourses().size(); i++) {
+      String courseName = studentDetail.getStudentsCourses().get(i).getCourseName();
+      String field = "studentsCourses[" + i + "].courseName";
+      if (errors.containsKey(field)) {
+        continue;
+      }
+      try {
+        if (!courseIds.add(CourseType.fromCourseName(courseName).getCourseId())) {
+          errors.put(field, "同じコースが重複しています");
+        }
+      } catch (CourseNotFoundException e) {
+        errors.put(field, e.getMessage());
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * リストを1回のINSERT文で登録する件数ごとに分割します。
+   */
+  private <T> List<List<T>> chunk(List<T> list) {
+    List<List<T>> chunks = new ArrayList<>();
+    for (int from = 0; from < list.size(); from += chunkSize) {
+      chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+    }
+    return chunks;
+  }
+}
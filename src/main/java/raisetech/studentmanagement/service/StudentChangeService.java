@@ -0,0 +1,140 @@
+package raisetech.studentmanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.studentmanagement.data.StudentChange;
+import raisetech.studentmanagement.domain.PageCursor;
+import raisetech.studentmanagement.domain.StudentChangeFeed;
+import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.exception.InvalidCursorException;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 受講生詳細情報の変更の取得に関するビジネスロジックを提供する、Serviceクラスです。
+ * <p>
+ * 登録・更新の処理は、同じトランザクション内で変更履歴（student_changesテーブル）に受講生IDを記録します。
+ * このクラスは、前回の取得以降に記録された変更履歴を変更IDの順に読み込み、対象の受講生詳細情報のみを返します。
+ * 取得にかかるコストは変更の件数によって決まり、受講生の人数にはよりません。
+ * <p>
+ * 変更IDは記録時（INSERT時）に採番されるため、コミットの順序とは一致しません。
+ * 変更IDの小さい変更が未コミットのまま、大きい変更が先に見えることがあるため、欠番の手前で取得を止めます。
+ * 欠番はロールバックでも生じるため、欠番の後の変更が記録から{@code student.changes.settle-timeout}以上経過している場合は、
+ * 欠番を確定したものとみなして先に進みます。<br>
+ * 各メソッドの処理時間は、メトリクス{@code student.service}として記録します。
+ */
+@Timed(value = "student.service", histogram = true)
+@Service
+public class StudentChangeService {
+
+  private final StudentRepository repository;
+  private final long settleMillis;
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository    受講生リポジトリ
+   * @param settleTimeout 変更IDの欠番を、ロールバックによるものとみなすまでの時間（最も長い登録・更新のトランザクションより長くすること）
+   */
+  @Autowired
+  public StudentChangeService(StudentRepository repository,
+      @Value("${student.changes.settle-timeout:30s}") Duration settleTimeout) {
+    this.repository = repository;
+    this.settleMillis = settleTimeout.toMillis();
+  }
+
+  /**
+   * 指定したトークン以降に登録・更新された受講生の、受講生詳細情報を取得します。論理削除済みの受講生を含みます。
+   * <p>
+   * 変更履歴を最大{@code limit}件読み込み、最後に変更された順に返します。
+   * 同じ受講生が複数回変更されている場合は、現在の受講生詳細情報を1件のみ返します。<br>
+   * 変更履歴と受講生詳細情報は、1つの読み取り専用トランザクションで同じ時点のものを読み込みます。
+   * 読み取り専用のため、レプリカが有効な場合はレプリカから読み込みます（未反映の変更は欠番として扱われ、次回以降に返します）。
+   *
+   * @param since 前回の取得で返されたトークン（nullの場合は最初の変更から取得）
+   * @param limit 1回に読み込む変更履歴の件数
+   * @return 受講生詳細情報と、次回の取得に指定するトークン
+   * @throws InvalidCursorException トークンの形式が正しくない場合にスロー
+   */
+  @Transactional(readOnly = true)
+  public StudentChangeFeed getChanges(String since, int limit) {
+    long afterChangeId = since == null ? 0 : decodeToken(since);
+
+    // 続きがあるかどうかを判定するため、1件多く取得する
+    List<StudentChange> changes = repository.findChangesAfter(afterChangeId, limit + 1,
+        settleMillis);
+    List<StudentChange> read = changes.subList(0, Math.min(limit, changes.size()));
+    List<StudentChange> accepted = settledPrefix(afterChangeId, read);
+    // 欠番の手前で止めた場合は、続けて取得しても欠番が確定するまで進めない
+    boolean hasMore = changes.size() > limit && accepted.size() == read.size();
+    long lastChangeId = accepted.isEmpty() ? afterChangeId : accepted.getLast().getChangeId();
+
+    // 同じ受講生の変更は、最後の変更の位置に1件としてまとめる
+    SequencedSet<String> studentIds = new LinkedHashSet<>();
+    for (StudentChange change : accepted) {
+      studentIds.remove(change.getStudentId());
+      studentIds.add(change.getStudentId());
+    }
+
+    List<StudentDetail> studentDetails = new ArrayList<>(studentIds.size());
+    if (!studentIds.isEmpty()) {
+      Map<String, StudentDetail> detailsById = repository
+          .findStudentDetailsByIds(new ArrayList<>(studentIds)).stream()
+          .collect(Collectors.toMap(detail -> detail.getStudent().getStudentId(),
+              Function.identity()));
+      for (String studentId : studentIds) {
+        StudentDetail studentDetail = detailsById.get(studentId);
+        if (studentDetail != null) {
+          studentDetails.add(studentDetail);
+        }
+      }
+    }
+
+    return new StudentChangeFeed(studentDetails, PageCursor.encode(Long.toString(lastChangeId)),
+        hasMore);
+  }
+
+  /**
+   * 変更履歴のうち、返してよい先頭からの範囲を取得します。
+   * 変更IDが連続している間は先に進み、欠番がある場合は、欠番の後の変更が確定済み（settled）の場合のみ先に進みます。
+   *
+   * @param afterChangeId 前回までに取得した最後の変更ID
+   * @param changes       変更IDの昇順の変更履歴
+   * @return 先頭から、返してよい範囲の変更履歴
+   */
+  static List<StudentChange> settledPrefix(long afterChangeId, List<StudentChange> changes) {
+    long lastChangeId = afterChangeId;
+    for (int i = 0; i < changes.size(); i++) {
+      StudentChange change = changes.get(i);
+      // 欠番の変更が未コミットの可能性があるため、確定するまで先に進まない
+      if (change.getChangeId() != lastChangeId + 1 && !change.isSettled()) {
+        return changes.subList(0, i);
+      }
+      lastChangeId = change.getChangeId();
+    }
+    return changes;
+  }
+
+  private static long decodeToken(String token) {
+    String key = PageCursor.decode(token, 1).get(0);
+    try {
+      long changeId = Long.parseLong(key);
+      if (changeId < 0) {
+        throw new InvalidCursorException(token);
+      }
+      return changeId;
+    } catch (NumberFormatException e) {
+      throw new InvalidCursorException(token);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package raisetech.studentmanagement.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.studentmanagement.domain.VersionedStudentDetail;
+
+/**
+ * 受講生詳細情報(個別)を、受講生IDをキーとしてアプリケーション内に保持するキャッシュです。
+ * 受講生詳細情報は、同じクエリで取得したバージョンと組にして保持します。
+ * <p>
+ * 保持件数の上限を超えた場合は、最も長く参照されていないものから破棄します（LRU）。
+ * また、保持してから一定時間（TTL）が経過したものは、次の参照時に破棄して再取得します。<br>
+ * ヒット・ミス・破棄の件数を記録し、{@link #getStats()}で参照できます。
+ */
+@Component
+public class StudentDetailCache {
+
+  private final int maxSize;
+  private final long ttlNanos;
+
+  // accessOrder=trueにより、参照された順に並び替わる（先頭が最も長く参照されていないもの）
+  private final LinkedHashMap<String, Entry> entries;
+
+  // 無効化の回数。取得中に無効化された場合、古い可能性のある値を保持しないために使用する
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * コンストラクタ
+   *
+   * @param maxSize 保持件数の上限
+   * @param ttl     保持期間
+   */
+  public StudentDetailCache(@Value("${student.cache.max-size:10000}") int maxSize,
+      @Value("${student.cache.ttl:5m}") Duration ttl) {
+    this.maxSize = maxSize;
+    this.ttlNanos = ttl.toNanos();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > StudentDetailCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * 受講生詳細情報を取得します。
+   * キャッシュに有効な値があればその値を返し、なければ取得処理を呼び出して、その結果をキャッシュに保持します。
+   * <p>
+   * 取得処理はロックの外で呼び出すため、データベースへのアクセス中に他の参照を妨げません。
+   * 受講生IDの大文字・小文字は区別しません。
+   *
+   * @param studentId 受講生ID
+   * @param loader    キャッシュにない場合の取得処理
+   * @return 受講生詳細情報とバージョン
+   */
+  public VersionedStudentDetail get(String studentId,
+      Function<String, VersionedStudentDetail> loader) {
+    long now = System.nanoTime();
+    String key = key(studentId);
+
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        if (now - entry.loadedAt < ttlNanos) {
+          hits.increment();
+          return entry.value;
+        }
+        entries.remove(key);
+        evictions.increment();
+      }
+    }
+    misses.increment();
+
+    long invalidationsBeforeLoad = invalidations.get();
+    VersionedStudentDetail value = loader.apply(studentId);
+
+    synchronized (entries) {
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        entries.put(key, new Entry(value, now));
+      }
+    }
+    return value;
+  }
+
+  /**
+   * 登録・更新された受講生の受講生詳細情報を、コミット後にキャッシュから破棄します。
+   * <p>
+   * コミット前に破棄すると、コミット前の古いデータが再びキャッシュされる可能性があるためです。
+   *
+   * @param event 受講生詳細情報の登録・更新イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentsChanged(StudentsChangedEvent event) {
+    event.studentIds().forEach(this::invalidate);
+  }
+
+  /**
+   * 指定した受講生IDの受講生詳細情報を、キャッシュから直ちに破棄します。
+   * 受講生IDの大文字・小文字は区別しません。
+   *
+   * @param studentId 受講生ID
+   */
+  public void invalidate(String studentId) {
+    synchronized (entries) {
+      invalidations.incrementAndGet();
+      entries.remove(key(studentId));
+    }
+  }
+
+  /**
+   * キャッシュのキーを返します。
+   * 受講生IDは大文字の16進数でも指定できるため、取得時と破棄時で同じキーになるよう小文字に揃えます。
+   */
+  private static String key(String studentId) {
+    return studentId.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * キャッシュの利用状況を取得します。
+   *
+   * @return 保持件数、ヒット・ミス・破棄の件数
+   */
+  public Stats getStats() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new Stats(size, hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  /**
+   * キャッシュの利用状況です。
+   *
+   * @param size      現在の保持件数
+   * @param hits      ヒット件数
+   * @param misses    ミス件数
+   * @param evictions 上限超過または保持期間切れによる破棄件数
+   */
+  public record Stats(int size, long hits, long misses, long evictions) {
+
+  }
+
+  private record Entry(VersionedStudentDetail value, long loadedAt) {
+
+  }
+}
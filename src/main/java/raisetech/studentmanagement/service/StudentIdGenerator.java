@@ -0,0 +1,60 @@
+package raisetech.studentmanagement.service;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * 受講生IDとして使用する、時刻順のUUID（RFC 9562 のバージョン7）を生成します。
+ * <p>
+ * 先頭48ビットが生成時刻（Unixエポックからのミリ秒）のため、後から生成したIDほど大きくなります。
+ * 主キーのインデックスへの追加が常に末尾となり、ランダムなUUID（バージョン4）と比べて
+ * ページ分割やバッファプールの入れ替えが起きにくくなります。
+ * <ul>
+ *   <li>同じミリ秒内に生成したIDは、12ビットのカウンタ（rand_a）で順序を保証します。</li>
+ *   <li>カウンタが上限に達した場合や時計が戻った場合は、直前のIDの時刻を引き継ぎ、単調増加を保ちます。</li>
+ *   <li>残りの62ビット（rand_b）は{@link SecureRandom}による乱数です。</li>
+ * </ul>
+ * 文字列表現（小文字の16進数）の辞書順は、16バイトの値の順序と一致します。
+ */
+final class StudentIdGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final int MAX_SEQUENCE = 0xFFF;
+
+  // 直前に生成したIDの時刻とカウンタ
+  private static long lastMillis;
+  private static int sequence;
+
+  private StudentIdGenerator() {
+  }
+
+  /**
+   * 新しい受講生IDを生成します。
+   *
+   * @return UUIDの文字列表現（36文字）
+   */
+  static String next() {
+    long random = RANDOM.nextLong();
+    long msb = nextTimestampAndSequence(System.currentTimeMillis());
+    long lsb = (random & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+    return new UUID(msb, lsb).toString();
+  }
+
+  /**
+   * 時刻（48ビット）、バージョン（4ビット）、カウンタ（12ビット）を上位64ビットに詰めて返します。
+   */
+  static synchronized long nextTimestampAndSequence(long currentMillis) {
+    if (currentMillis > lastMillis) {
+      lastMillis = currentMillis;
+      sequence = 0;
+    } else if (sequence < MAX_SEQUENCE) {
+      sequence++;
+    } else {
+      // 同じミリ秒内のカウンタを使い切った場合は、次のミリ秒のIDとして生成する
+      lastMillis++;
+      sequence = 0;
+    }
+    return (lastMillis << 16) | 0x7000 | sequence;
+  }
+}
@@ -0,0 +1,202 @@
+package raisetech.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import raisetech.studentmanagement.domain.BatchItemError;
+import raisetech.studentmanagement.domain.BatchRegistrationResult;
+import raisetech.studentmanagement.domain.ImportJobStatus;
+import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.exception.ImportJobNotFoundException;
+
+/**
+ * ファイル（CSV/NDJSON）からの受講生詳細情報のインポートを、バックグラウンドで行うServiceクラスです。
+ * <p>
+ * アップロードされたファイルは一時ファイルに保存し、リクエストにはインポートジョブIDを直ちに返します。
+ * インポートはファイルを先頭から順に読み込み、チャンク単位で{@link StudentBatchService#registerStudents(List)}に渡します。
+ * そのため、入力チェックの内容は一括登録と同じで、チャンクごとに1つのトランザクションで登録します。<br>
+ * 一意制約などのデータベースの制約違反は、一括登録と同様に違反した行のみをエラーとし、残りの行とチャンクの登録を続けます。<br>
+ * 同時に実行するインポートは1つまでとし、それ以降は受け付けた順に実行します。
+ */
+@Service
+public class StudentImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(StudentImportService.class);
+
+  private final StudentBatchService batchService;
+  private final ObjectMapper objectMapper;
+  private final int chunkSize;
+  private final int maxRejects;
+  private final Duration retention;
+
+  private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(
+      runnable -> new Thread(runnable, "student-import"));
+
+  /**
+   * コンストラクタ
+   *
+   * @param batchService 受講生一括登録サービス
+   * @param objectMapper NDJSONの読み込みに使用するObjectMapper
+   * @param chunkSize    1つのトランザクションで登録する件数
+   * @param maxRejects   インポートジョブごとに、エラー内容を保持する件数の上限
+   * @param retention    終了したインポートジョブの状態を保持する期間
+   */
+  @Autowired
+  public StudentImportService(StudentBatchService batchService, ObjectMapper objectMapper,
+      @Value("${student.import.chunk-size:1000}") int chunkSize,
+      @Value("${student.import.max-rejects:1000}") int maxRejects,
+      @Value("${student.import.retention:1h}") Duration retention) {
+    this.batchService = batchService;
+    this.objectMapper = objectMapper;
+    this.chunkSize = chunkSize;
+    this.maxRejects = maxRejects;
+    this.retention = retention;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    importExecutor.shutdownNow();
+  }
+
+  /**
+   * インポートを受け付けます。
+   * ファイルを一時ファイルに保存した後、インポートの完了を待たずに戻ります。
+   *
+   * @param file   アップロードされたファイル
+   * @param format ファイルの形式（csv または ndjson）
+   * @return 受け付けたインポートジョブの状態
+   * @throws UncheckedIOException 一時ファイルへの保存に失敗した場合
+   */
+  public ImportJobStatus submit(MultipartFile file, String format) {
+    Path path;
+    try {
+      path = Files.createTempFile("student-import-", "." + format);
+      file.transferTo(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxRejects);
+    jobs.put(job.getJobId(), job);
+    importExecutor.execute(() -> run(job, path, format));
+    return job.toStatus();
+  }
+
+  /**
+   * インポートジョブの状態を取得します。
+   *
+   * @param jobId インポートジョブID
+   * @return インポートジョブの状態
+   * @throws ImportJobNotFoundException 指定したIDのインポートジョブが存在しない場合にスロー
+   */
+  public ImportJobStatus getStatus(String jobId) {
+    ImportJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ImportJobNotFoundException(jobId);
+    }
+    return job.toStatus();
+  }
+
+  /**
+   * 終了してから保持期間（{@code student.import.retention}）が経過したインポートジョブを破棄します。
+   */
+  @Scheduled(fixedDelayString = "${student.import.retention:1h}")
+  public void purgeFinishedJobs() {
+    LocalDateTime threshold = LocalDateTime.now().minus(retention);
+    jobs.values().removeIf(job -> job.finishedBefore(threshold));
+  }
+
+  private void run(ImportJob job, Path path, String format) {
+    job.start();
+    try (StudentRecordReader reader = open(path, format)) {
+      List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+      ImportRecord record;
+      while ((record = reader.next()) != null) {
+        chunk.add(record);
+        if (chunk.size() >= chunkSize) {
+          register(job, chunk);
+          chunk.clear();
+        }
+      }
+      register(job, chunk);
+      job.complete();
+      log.info("インポートが完了しました: {}", job.getJobId());
+    } catch (IOException | RuntimeException e) {
+      // 中断までに登録したチャンクは、登録済みのまま残る
+      job.fail(e.getMessage());
+      log.warn("インポートを中断しました: {}", job.getJobId(), e);
+    } finally {
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        log.warn("一時ファイルの削除に失敗しました: {}", path, e);
+      }
+    }
+  }
+
+  private StudentRecordReader open(Path path, String format) throws IOException {
+    BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    try {
+      return format.equals("csv")
+          ? new CsvStudentReader(reader)
+          : new NdjsonStudentReader(reader, objectMapper);
+    } catch (IOException | RuntimeException e) {
+      reader.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 1チャンク分の受講生詳細情報を登録し、進捗に反映します。
+   * 読み込み時に不備が見つかったものは登録せずに、エラー内容のみを記録します。
+   */
+  private void register(ImportJob job, List<ImportRecord> chunk) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    List<StudentDetail> studentDetails = new ArrayList<>(chunk.size());
+    List<Long> indexes = new ArrayList<>(chunk.size());
+    for (ImportRecord record : chunk) {
+      if (record.errors().isEmpty()) {
+        studentDetails.add(record.studentDetail());
+        indexes.add(record.index());
+      } else {
+        job.reject(record.index(), record.errors());
+      }
+    }
+
+    long registered = 0;
+    if (!studentDetails.isEmpty()) {
+      // 制約違反の行は、一括登録の結果にエラーとして含まれる
+      BatchRegistrationResult result = batchService.registerStudents(studentDetails);
+      for (BatchItemError error : result.getErrors()) {
+        job.reject(indexes.get(error.getIndex()), error.getErrors());
+      }
+      registered = result.getRegisteredCount();
+    }
+    job.addProcessed(chunk.size(), registered);
+  }
+}
@@ -0,0 +1,327 @@
+package raisetech.studentmanagement.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import raisetech.studentmanagement.data.Student;
+
+/**
+ * 受講生の氏名・ふりがな・ニックネームによる部分一致検索のための、不変の索引（n-gram索引）です。
+ * <p>
+ * 各項目を正規化した文字列の、1文字（ユニグラム）と連続する2文字（バイグラム）ごとに、
+ * その文字を含む受講生の行番号を昇順の配列で保持します。
+ * <ul>
+ *   <li>検索文字列が1文字の場合はユニグラム、2文字以上の場合は全バイグラムの行番号の積集合を候補とします。</li>
+ *   <li>バイグラムがすべて含まれていても部分一致するとは限らないため、候補は正規化した文字列で照合します。</li>
+ *   <li>完全一致、前方一致、部分一致の順に並べ、同じ場合は一致した項目が短い順、受講生IDの昇順とします。</li>
+ * </ul>
+ * 正規化では、全角・半角の統一（NFKC）、英字の小文字化、カタカナのひらがなへの変換、空白の除去を行います。
+ * そのため「ヤマダ」「やまだ」「ﾔﾏﾀﾞ」はいずれも、ふりがな「やまだ たろう」に前方一致します。
+ * <p>
+ * 登録・更新された受講生は、索引を作り直さずに差分として保持し、検索時に直接照合します。
+ * 差分が{@link #MAX_OVERRIDES}件を超えた場合は、索引全体を作り直します。
+ */
+final class StudentNameIndex {
+
+  /**
+   * 差分として保持する件数の上限です。
+   */
+  static final int MAX_OVERRIDES = 1024;
+
+  // 一致の種類（値が小さいほど上位）
+  static final int EXACT = 0;
+  static final int PREFIX = 1;
+  static final int PARTIAL = 2;
+
+  /**
+   * 検索結果の並び順です。
+   */
+  static final Comparator<Match> ORDER = Comparator.comparingInt(Match::rank)
+      .thenComparingInt(Match::length)
+      .thenComparing(Match::studentId);
+
+  private static final int[] EMPTY = new int[0];
+
+  // ユニグラムのキーの上位16ビット（バイグラムのキーと重ならないよう、文字として使われない値とする）
+  private static final int UNIGRAM = 0xFFFF_0000;
+
+  private final Student[] students;
+  // 行番号ごとの、正規化した氏名・ふりがな・ニックネーム
+  private final String[][] names;
+  private final Map<Integer, int[]> postings;
+
+  // 索引の作成後に登録・更新された受講生（受講生ID → 受講生情報。削除された場合はnull）
+  private final Map<String, Student> overrides;
+  private final Map<String, String[]> overrideNames;
+
+  private StudentNameIndex(List<Student> students) {
+    int size = students.size();
+    this.students = students.toArray(new Student[0]);
+    this.names = new String[size][];
+    int gramCount = 0;
+    for (int i = 0; i < size; i++) {
+      names[i] = normalizedNames(this.students[i]);
+      for (String name : names[i]) {
+        gramCount += Math.max(0, 2 * name.length() - 1);
+      }
+    }
+    this.postings = buildPostings(names, gramCount);
+    this.overrides = Map.of();
+    this.overrideNames = Map.of();
+  }
+
+  private StudentNameIndex(StudentNameIndex base, Map<String, Student> overrides) {
+    this.students = base.students;
+    this.names = base.names;
+    this.postings = base.postings;
+    this.overrides = Collections.unmodifiableMap(overrides);
+    Map<String, String[]> overrideNames = new HashMap<>();
+    overrides.forEach((studentId, student) -> {
+      if (student != null) {
+        overrideNames.put(studentId, normalizedNames(student));
+      }
+    });
+    this.overrideNames = overrideNames;
+  }
+
+  /**
+   * 受講生情報の全件から生成します。
+   *
+   * @param students 受講生情報の全件
+   * @return 生成した索引
+   */
+  static StudentNameIndex of(Collection<Student> students) {
+    return new StudentNameIndex(new ArrayList<>(students));
+  }
+
+  /**
+   * 指定した受講生の受講生情報だけを差し替えた、新しい索引を生成します。
+   * この索引自体は変更しません。
+   *
+   * @param replacements 受講生IDと差し替え後の受講生情報の組み合わせ（値がnullの場合は削除）
+   * @return 新しい索引
+   */
+  StudentNameIndex withStudents(Map<String, Student> replacements) {
+    // 値がnullのエントリーを扱うため、HashMapを使用する
+    Map<String, Student> merged = new HashMap<>(overrides);
+    merged.putAll(replacements);
+    if (merged.size() <= MAX_OVERRIDES) {
+      return new StudentNameIndex(this, merged);
+    }
+
+    List<Student> all = new ArrayList<>(students.length + merged.size());
+    for (Student student : students) {
+      if (!merged.containsKey(student.getStudentId())) {
+        all.add(student);
+      }
+    }
+    merged.values().stream().filter(student -> student != null).forEach(all::add);
+    return new StudentNameIndex(all);
+  }
+
+  /**
+   * 氏名・ふりがな・ニックネームのいずれかが検索文字列を含む受講生を、{@link #ORDER}の順で取得します。
+   *
+   * @param query          検索文字列
+   * @param includeDeleted 論理削除済みの受講生を含めるかどうか
+   * @return 一致した受講生（検索文字列が正規化後に空の場合は空）
+   */
+  List<Match> search(String query, boolean includeDeleted) {
+    String normalized = normalize(query);
+    if (normalized.isEmpty()) {
+      return List.of();
+    }
+
+    List<Match> matches = new ArrayList<>();
+    for (int ordinal : candidates(normalized)) {
+      Student student = students[ordinal];
+      if (overrides.containsKey(student.getStudentId())) {
+        continue;
+      }
+      addIfMatches(matches, student, names[ordinal], normalized, includeDeleted);
+    }
+    overrideNames.forEach((studentId, studentNames) -> addIfMatches(matches,
+        overrides.get(studentId), studentNames, normalized, includeDeleted));
+
+    matches.sort(ORDER);
+    return matches;
+  }
+
+  /**
+   * 索引に含まれる受講生の人数を返します。
+   */
+  int size() {
+    int size = students.length + overrideNames.size();
+    for (Student student : students) {
+      if (overrides.containsKey(student.getStudentId())) {
+        size--;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * 検索用に文字列を正規化します。
+   * 全角・半角を統一（NFKC）し、英字を小文字に、カタカナをひらがなに変換して、空白を除去します。
+   *
+   * @param value 文字列（nullの場合は空文字列として扱う）
+   * @return 正規化した文字列
+   */
+  static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String nfkc = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    StringBuilder normalized = new StringBuilder(nfkc.length());
+    for (int i = 0; i < nfkc.length(); i++) {
+      char c = nfkc.charAt(i);
+      if (Character.isWhitespace(c)) {
+        continue;
+      }
+      // カタカナ（ァ〜ヶ）は、対応するひらがな（ぁ〜ゖ）に変換する
+      if (c >= 'ァ' && c <= 'ヶ') {
+        c -= 0x60;
+      }
+      normalized.append(c);
+    }
+    return normalized.toString();
+  }
+
+  private static String[] normalizedNames(Student student) {
+    return new String[]{normalize(student.getFullName()), normalize(student.getFuriganaName()),
+        normalize(student.getNickName())};
+  }
+
+  private static void addIfMatches(List<Match> matches, Student student, String[] studentNames,
+      String query, boolean includeDeleted) {
+    if (!includeDeleted && student.isDeleted()) {
+      return;
+    }
+    int bestRank = Integer.MAX_VALUE;
+    int bestLength = Integer.MAX_VALUE;
+    for (String name : studentNames) {
+      int rank;
+      if (name.equals(query)) {
+        rank = EXACT;
+      } else if (name.startsWith(query)) {
+        rank = PREFIX;
+      } else if (name.contains(query)) {
+        rank = PARTIAL;
+      } else {
+        continue;
+      }
+      if (rank < bestRank || (rank == bestRank && name.length() < bestLength)) {
+        bestRank = rank;
+        bestLength = name.length();
+      }
+    }
+    if (bestRank != Integer.MAX_VALUE) {
+      matches.add(new Match(student.getStudentId(), bestRank, bestLength, student));
+    }
+  }
+
+  /**
+   * 検索文字列を含む可能性のある行番号を、昇順で返します。
+   */
+  private int[] candidates(String query) {
+    if (query.length() == 1) {
+      return postings.getOrDefault(unigram(query.charAt(0)), EMPTY);
+    }
+
+    int[][] lists = new int[query.length() - 1][];
+    for (int i = 0; i < lists.length; i++) {
+      lists[i] = postings.get(bigram(query.charAt(i), query.charAt(i + 1)));
+      if (lists[i] == null) {
+        return EMPTY;
+      }
+    }
+    // 件数の少ない順に積集合をとり、途中の配列を小さく保つ
+    Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+    int[] result = lists[0];
+    for (int i = 1; i < lists.length && result.length > 0; i++) {
+      result = intersect(result, lists[i]);
+    }
+    return result;
+  }
+
+  private static int[] intersect(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[count++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static Map<Integer, int[]> buildPostings(String[][] names, int gramCount) {
+    // 上位32ビットにキー、下位32ビットに行番号を詰めてソートすることで、オブジェクトを生成せずにキーごとにまとめる
+    long[] entries = new long[gramCount];
+    int count = 0;
+    for (int ordinal = 0; ordinal < names.length; ordinal++) {
+      for (String name : names[ordinal]) {
+        for (int i = 0; i < name.length(); i++) {
+          entries[count++] = ((long) unigram(name.charAt(i)) << 32) | ordinal;
+          if (i + 1 < name.length()) {
+            entries[count++] = ((long) bigram(name.charAt(i), name.charAt(i + 1)) << 32) | ordinal;
+          }
+        }
+      }
+    }
+    Arrays.sort(entries, 0, count);
+
+    Map<Integer, int[]> postings = new HashMap<>();
+    int[] ordinals = new int[names.length];
+    int from = 0;
+    while (from < count) {
+      int key = (int) (entries[from] >> 32);
+      int size = 0;
+      int to = from;
+      for (; to < count && (int) (entries[to] >> 32) == key; to++) {
+        // 同じ受講生の複数の項目・位置に現れた場合は、1件として扱う
+        if (to == from || entries[to] != entries[to - 1]) {
+          ordinals[size++] = (int) entries[to];
+        }
+      }
+      postings.put(key, Arrays.copyOf(ordinals, size));
+      from = to;
+    }
+    return postings;
+  }
+
+  private static int unigram(char c) {
+    return UNIGRAM | c;
+  }
+
+  private static int bigram(char first, char second) {
+    return (first << 16) | second;
+  }
+
+  /**
+   * 検索結果の1件です。
+   *
+   * @param studentId 受講生ID
+   * @param rank      一致の種類（{@link #EXACT}、{@link #PREFIX}、{@link #PARTIAL}）
+   * @param length    一致した項目を正規化した文字列の長さ
+   * @param student   受講生情報（カーソルとして使用する場合はnull）
+   */
+  record Match(String studentId, int rank, int length, Student student) {
+
+  }
+}
@@ -0,0 +1,19 @@
+package raisetech.studentmanagement.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * インポートするファイルから、受講生詳細情報を1件ずつ読み込むクラスです。
+ * ファイル全体をメモリに読み込まずに、先頭から順に読み込みます。
+ */
+interface StudentRecordReader extends Closeable {
+
+  /**
+   * 次の受講生詳細情報を読み込みます。
+   *
+   * @return 読み込んだ受講生詳細情報（ファイルの末尾に達した場合はnull）
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  ImportRecord next() throws IOException;
+}
@@ -0,0 +1,124 @@
+package raisetech.studentmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 一覧取得用に、受講生詳細情報の全件をメモリ上に保持するコンポーネントです。
+ * {@code student.snapshot.enabled=true} の場合のみ有効になります。
+ * <p>
+ * 保持する{@link RosterSnapshot}は不変で、更新時は新しいスナップショットを生成して参照を差し替えます（コピーオンライト）。
+ * そのため、参照側はロックを取得せずに、常に一貫した時点のデータを読み取れます。
+ * <ul>
+ *   <li>起動完了時に、全件を読み込みます。</li>
+ *   <li>登録・更新のコミット後に、対象の受講生のみを再読み込みして差し替えます。
+ *       差し替えはスナップショット全体の作り直しになるため、連続した登録・更新はまとめて1回で反映し、
+ *       対象の受講生はIN検索でまとめて読み込みます。(詳細は{@link ChangedStudentRefresher}を参照)</li>
+ *   <li>差し替え漏れに備えて、一定間隔で全件を再読み込みします。</li>
+ * </ul>
+ * 更新処理は1つずつ順番に行い、古い読み込み結果で新しい内容を上書きしないようにしています。
+ */
+@Component
+@ConditionalOnProperty(name = "student.snapshot.enabled", havingValue = "true")
+public class StudentRosterSnapshot {
+
+  private static final Logger log = LoggerFactory.getLogger(StudentRosterSnapshot.class);
+
+  private final StudentRepository repository;
+  private final int loadChunkSize;
+
+  // 読み込み完了前はnull
+  private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+
+  // 更新処理（全件・個別）を1つずつ行うためのロック。参照側は使用しない
+  // データベースへのアクセス中も保持するため、仮想スレッドでもキャリアスレッドを占有しないReentrantLockを使用する
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  private final ChangedStudentRefresher refresher = new ChangedStudentRefresher(
+      "roster-snapshot-refresh", "受講生詳細情報のスナップショット", refreshLock, this::applyRefresh);
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository    受講生リポジトリ
+   * @param loadChunkSize 差し替え対象の受講生を読み込む際に、1回のIN検索にまとめる受講生IDの件数
+   */
+  public StudentRosterSnapshot(StudentRepository repository,
+      @Value("${student.lookup.chunk-size:1000}") int loadChunkSize) {
+    this.repository = repository;
+    this.loadChunkSize = loadChunkSize;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refresher.shutdown();
+  }
+
+  /**
+   * 現在のスナップショットを取得します。
+   *
+   * @return 現在のスナップショット（読み込み完了前はnull）
+   */
+  RosterSnapshot get() {
+    return current.get();
+  }
+
+  /**
+   * 受講生詳細情報の全件を読み込み、スナップショットを差し替えます。
+   * 起動完了時と、{@code student.snapshot.reconcile-interval}の間隔で実行します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${student.snapshot.reconcile-interval:5m}",
+      initialDelayString = "${student.snapshot.reconcile-interval:5m}")
+  public void reload() {
+    refreshLock.lock();
+    try {
+      long start = System.nanoTime();
+      // 読み込み中の変更を取りこぼしたまま新しいバージョンとしないよう、バージョンを先に取得する
+      StudentVersion version = repository.findRosterVersion();
+      RosterSnapshot snapshot = RosterSnapshot.of(repository.searchStudentDetails(null), version);
+      current.set(snapshot);
+      log.info("受講生詳細情報のスナップショットを読み込みました（{}件, {}ms）", snapshot.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 登録・更新された受講生の受講生詳細情報を、コミット後に再読み込みしてスナップショットを差し替えます。
+   * 再読み込みは別スレッドで行うため、呼び出し元の処理時間には影響しません。
+   *
+   * @param event 受講生詳細情報の登録・更新イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentsChanged(StudentsChangedEvent event) {
+    refresher.submit(event.studentIds());
+  }
+
+  private void applyRefresh(List<String> studentIds) {
+    RosterSnapshot snapshot = current.get();
+    if (snapshot == null) {
+      // 全件の読み込み前の場合は、全件の読み込み時に反映される
+      return;
+    }
+    StudentVersion version = repository.findRosterVersion();
+    // 見つからなかった受講生は、スナップショットから削除する
+    current.set(snapshot.withStudentDetails(
+        ChangedStudentRefresher.loadStudentDetails(repository, studentIds, loadChunkSize),
+        version));
+  }
+}
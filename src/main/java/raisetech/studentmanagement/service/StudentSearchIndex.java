@@ -0,0 +1,121 @@
+package raisetech.studentmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 氏名・ふりがな・ニックネームによる受講生の検索用に、{@link StudentNameIndex}をメモリ上に保持するコンポーネントです。
+ * <p>
+ * 名前の部分一致検索はデータベースでは{@code LIKE '%...%'}による全件走査となるため、常にこの索引から返します。
+ * 保持する索引は不変で、更新時は新しい索引を生成して参照を差し替えます。
+ * <ul>
+ *   <li>起動完了時に、全件を読み込みます。</li>
+ *   <li>登録・更新のコミット後に、対象の受講生のみを再読み込みして差し替えます。
+ *       連続した登録・更新はまとめて1回で反映し、対象の受講生はIN検索でまとめて読み込みます。
+ *       (詳細は{@link ChangedStudentRefresher}を参照)</li>
+ *   <li>差し替え漏れに備えて、一定間隔で全件を再読み込みします。</li>
+ * </ul>
+ */
+@Component
+public class StudentSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+  private final StudentRepository repository;
+  private final int loadChunkSize;
+
+  // 読み込み完了前はnull
+  private final AtomicReference<StudentNameIndex> current = new AtomicReference<>();
+
+  // 更新処理（全件・個別）を1つずつ行うためのロック。参照側は使用しない
+  // 全件の読み込み中も保持するため、synchronizedではなくReentrantLockを使用する（仮想スレッド対応）
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  private final ChangedStudentRefresher refresher = new ChangedStudentRefresher(
+      "student-search-refresh", "受講生の名前検索用の索引", refreshLock, this::applyRefresh);
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository    受講生リポジトリ
+   * @param loadChunkSize 差し替え対象の受講生を読み込む際に、1回のIN検索にまとめる受講生IDの件数
+   */
+  public StudentSearchIndex(StudentRepository repository,
+      @Value("${student.lookup.chunk-size:1000}") int loadChunkSize) {
+    this.repository = repository;
+    this.loadChunkSize = loadChunkSize;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refresher.shutdown();
+  }
+
+  /**
+   * 現在の索引を取得します。
+   *
+   * @return 現在の索引（読み込み完了前はnull）
+   */
+  StudentNameIndex get() {
+    return current.get();
+  }
+
+  /**
+   * 受講生情報の全件を読み込み、索引を作り直します。
+   * 起動完了時と、{@code student.search.reconcile-interval}の間隔で実行します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${student.search.reconcile-interval:5m}",
+      initialDelayString = "${student.search.reconcile-interval:5m}")
+  public void reload() {
+    refreshLock.lock();
+    try {
+      long start = System.nanoTime();
+      StudentNameIndex index = StudentNameIndex.of(repository.searchStudents());
+      current.set(index);
+      log.info("受講生の名前検索用の索引を読み込みました（{}件, {}ms）", index.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 登録・更新された受講生の受講生情報を、コミット後に再読み込みして索引を差し替えます。
+   * 再読み込みは別スレッドで行うため、呼び出し元の処理時間には影響しません。
+   *
+   * @param event 受講生詳細情報の登録・更新イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentsChanged(StudentsChangedEvent event) {
+    refresher.submit(event.studentIds());
+  }
+
+  private void applyRefresh(List<String> studentIds) {
+    StudentNameIndex index = current.get();
+    if (index == null) {
+      // 全件の読み込み前の場合は、全件の読み込み時に反映される
+      return;
+    }
+    // 値がnullのエントリーを扱うため、HashMapを使用する（見つからなかった受講生は索引から削除する）
+    Map<String, Student> replacements = new HashMap<>();
+    ChangedStudentRefresher.loadStudentDetails(repository, studentIds, loadChunkSize)
+        .forEach((studentId, studentDetail) -> replacements.put(studentId,
+            studentDetail == null ? null : studentDetail.getStudent()));
+    current.set(index.withStudents(replacements));
+  }
+}
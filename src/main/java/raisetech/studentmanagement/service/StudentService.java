@@ -1,116 +1,413 @@
 package raisetech.studentmanagement.service;
 
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.studentmanagement.controller.converter.StudentConverter;
+import raisetech.studentmanagement.data.ChangeType;
 import raisetech.studentmanagement.data.CourseType;
 import raisetech.studentmanagement.data.Student;
 import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.data.StudentVersion;
+import raisetech.studentmanagement.domain.CursorPage;
+import raisetech.studentmanagement.domain.PageCursor;
 import raisetech.studentmanagement.domain.StudentDetail;
+import raisetech.studentmanagement.domain.StudentLookupResult;
+import raisetech.studentmanagement.domain.VersionedStudentDetail;
+import raisetech.studentmanagement.exception.InvalidCursorException;
+import raisetech.studentmanagement.exception.SearchIndexNotReadyException;
 import raisetech.studentmanagement.exception.StudentNotFoundException;
 import raisetech.studentmanagement.repository.StudentRepository;
+import raisetech.studentmanagement.service.StudentNameIndex.Match;
 
 /**
  * 受講生情報と受講生コース情報に関するビジネスロジックを提供する、Serviceクラスです。
  * Repository層を通じてデータの取得・登録・更新などを行います。
+ * 各メソッドの処理時間は、メトリクス{@code student.service}として記録します。
+ * <p>
+ * 取得のみを行うメソッドは読み取り専用のトランザクションとし、レプリカが有効な場合はレプリカから取得します。
+ * (詳細は{@link raisetech.studentmanagement.config.ReadWriteRoutingDataSource}を参照)
  */
+@Timed(value = "student.service", histogram = true)
 @Service
 public class StudentService {
 
   private final StudentRepository repository;
   private final StudentConverter converter;
+  private final StudentDetailCache studentDetailCache;
+  private final ObjectProvider<StudentRosterSnapshot> rosterSnapshot;
+  private final ObjectProvider<EnrollmentIndex> enrollmentIndex;
+  private final StudentSearchIndex searchIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int lookupChunkSize;
+  private final boolean archiveEnabled;
 
   @Autowired
-  public StudentService(StudentRepository repository, StudentConverter converter) {
+  public StudentService(StudentRepository repository, StudentConverter converter,
+      StudentDetailCache studentDetailCache, ObjectProvider<StudentRosterSnapshot> rosterSnapshot,
+      ObjectProvider<EnrollmentIndex> enrollmentIndex, StudentSearchIndex searchIndex,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${student.lookup.chunk-size:1000}") int lookupChunkSize,
+      @Value("${student.archive.enabled:false}") boolean archiveEnabled) {
     this.repository = repository;
     this.converter = converter;
+    this.studentDetailCache = studentDetailCache;
+    this.rosterSnapshot = rosterSnapshot;
+    this.enrollmentIndex = enrollmentIndex;
+    this.searchIndex = searchIndex;
+    this.eventPublisher = eventPublisher;
+    this.lookupChunkSize = lookupChunkSize;
+    this.archiveEnabled = archiveEnabled;
   }
 
   /**
-   * 受講生情報の一覧を取得します。
+   * 受講生詳細情報の一覧を取得します。
+   * 受講生情報と受講生コース情報を合わせたものを取得します。
    * 論理削除済みの受講生を除きます。
+   * <p>
+   * スナップショットが有効な場合は、データベースにアクセスせずにスナップショットから返します。(詳細は{@link StudentRosterSnapshot}を参照)
    *
-   * @return 受講生情報のリスト (論理削除済みの受講生を除く)
+   * @return 受講生詳細情報のリスト（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を除く）
    */
-  public List<Student> getNotDeletedStudents() {
-    List<Student> allStudents = repository.searchStudents();
-
-    return allStudents.stream()
-        .filter(student -> !student.isDeleted())
-        .collect(Collectors.toList());
+  @Transactional(readOnly = true)
+  public List<StudentDetail> getNotDeletedStudentsDetails() {
+    RosterSnapshot snapshot = currentSnapshot();
+    if (snapshot != null) {
+      return snapshot.getNotDeletedStudentDetails();
+    }
+    // 受講生情報と受講生コース情報は、JOINにより1回のクエリでまとめて取得する
+    return repository.searchStudentDetails(false);
   }
 
   /**
    * 受講生詳細情報の一覧を取得します。
    * 受講生情報と受講生コース情報を合わせたものを取得します。
-   * 論理削除済みの受講生を除きます。
+   * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   * <p>
+   * スナップショットが有効な場合は、データベースにアクセスせずにスナップショットから返します。(詳細は{@link StudentRosterSnapshot}を参照)
    *
-   * @return 受講生詳細情報のリスト（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を除く）
+   * @return 受講生詳細情報のリスト（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を含む）
    */
-  public List<StudentDetail> getNotDeletedStudentsDetails() {
-    List<Student> students = getNotDeletedStudents();
+  @Transactional(readOnly = true)
+  public List<StudentDetail> getStudentsDetails() {
+    RosterSnapshot snapshot = currentSnapshot();
+    if (snapshot != null) {
+      return snapshot.getStudentDetails();
+    }
+    return repository.searchStudentDetails(null);
+  }
+
+  /**
+   * 受講生詳細情報の一覧を1ページ分取得します。
+   * 受講生情報を受講生IDの昇順で1ページ分取得し、そのページの受講生に紐づく受講生コース情報のみを取得して結合します。
+   * <p>
+   * 次のページが存在するかを判定するため、上限より1件多く取得します。
+   *
+   * @param deleted 論理削除状態（nullの場合は論理削除済みの受講生を含む）
+   * @param after   前のページで返されたカーソル（nullの場合は先頭ページ）
+   * @param limit   1ページあたりの件数
+   * @return 受講生詳細情報の1ページ分と、次のページのカーソル
+   * @throws InvalidCursorException カーソルの形式が正しくない場合にスロー
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<StudentDetail> getStudentsDetailsPage(Boolean deleted, String after,
+      int limit) {
+    String afterStudentId = after == null ? null : PageCursor.decode(after, 1).get(0);
+
+    RosterSnapshot snapshot = currentSnapshot();
+    List<StudentDetail> studentDetails = snapshot != null
+        ? snapshot.getStudentDetailsAfter(deleted, afterStudentId, limit + 1)
+        : searchStudentsDetailsAfter(deleted, afterStudentId, limit + 1);
+
+    if (studentDetails.size() <= limit) {
+      return new CursorPage<>(studentDetails, null);
+    }
 
-    // コース情報は全件取得する。絞り込みは行わないため、nullを引数に渡す
-    List<StudentCourse> studentsCourses = getCourses(null);
+    studentDetails = studentDetails.subList(0, limit);
+    String lastStudentId = studentDetails.get(limit - 1).getStudent().getStudentId();
+
+    return new CursorPage<>(studentDetails, PageCursor.encode(lastStudentId));
+  }
+
+  /**
+   * 指定した受講生IDより後の受講生詳細情報を、データベースから受講生IDの昇順で取得します。
+   */
+  private List<StudentDetail> searchStudentsDetailsAfter(Boolean deleted, String afterStudentId,
+      int limit) {
+    List<Student> students = repository.searchStudentsPage(deleted, afterStudentId, limit);
+
+    List<StudentCourse> studentsCourses = students.isEmpty()
+        ? List.of()
+        : repository.findCoursesByStudentIds(
+            students.stream().map(Student::getStudentId).toList());
 
     return converter.convertStudentDetails(students, studentsCourses);
   }
 
+  /**
+   * 受講生詳細情報を全件、1件ずつ受け渡します。
+   * 対象は、すべての受講生 (論理削除済みの受講生を含む) です。受講生IDの昇順で受け渡します。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   * <p>
+   * 受講生情報と受講生コース情報をそれぞれカーソルで取得し、受講生IDでマージ結合します。
+   * 全件をリストに読み込まないため、件数に関係なく一定のメモリで処理できます。<br>
+   * カーソルはトランザクション内でのみ使用できるため、受け渡しが完了するまでトランザクションを維持します。
+   *
+   * @param consumer 受講生詳細情報を受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void streamStudentDetails(Consumer<StudentDetail> consumer) {
+    try (Cursor<Student> students = repository.streamStudents();
+        Cursor<StudentCourse> studentsCourses = repository.streamCourses()) {
+
+      converter.mergeStudentDetails(students, studentsCourses, consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * 受講生詳細情報(個別)を取得します。
    * 受講生情報と受講生コース情報を合わせたものを取得します。
    * 対象は、指定した受講生IDに紐づく、受講生詳細情報です。論理削除済みの受講生を含みます。
    * <p>
+   * 受講生情報のバージョンと最終更新日時も同じクエリで取得し、受講生詳細情報と組にして返します。
+   * 条件付きリクエストの判定（ETag・Last-Modified）には、このバージョンを使用します。
+   * <p>
+   * 取得結果はバージョンと組にしてキャッシュに保持し、登録・更新時に破棄します。(詳細は{@link StudentDetailCache}を参照)<br>
+   * 受講生情報テーブルに存在しない場合は、アーカイブ済みの受講生として、アーカイブテーブルから取得します。
+   * アーカイブテーブルは、アーカイブが有効な場合（{@code student.archive.enabled=true}）のみ参照します。
+   * (アーカイブについては{@link StudentArchiveService}を参照)
    *
    * @param studentId 受講生ID
-   * @return 指定したIDの受講生詳細情報（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を含む）
+   * @return 指定したIDの受講生詳細情報（受講生情報と受講生コース情報を結合したもの。論理削除済みの受講生を含む）と、そのバージョン
    * @throws StudentNotFoundException 指定したIDの受講生が存在しない場合にスロー
    */
-  public StudentDetail getStudentDetailById(String studentId) {
-
-    Student student = repository.findById(studentId)
-        .orElseThrow(() -> new StudentNotFoundException((studentId)));
+  @Transactional(readOnly = true)
+  public VersionedStudentDetail getStudentDetailById(String studentId) {
+
+    // 受講生情報と受講生コース情報、バージョンは、JOINにより1回のクエリでまとめて取得する
+    return studentDetailCache.get(studentId, id -> repository.findStudentDetailById(id)
+        .or(() -> archiveEnabled ? repository.findArchivedStudentDetailById(id)
+            : Optional.empty())
+        .orElseThrow(() -> new StudentNotFoundException((id))));
+  }
 
-    List<StudentCourse> courses = repository.findCourseById(studentId);
+  /**
+   * 受講生詳細情報を、指定した複数の受講生IDについてまとめて取得します。論理削除済みの受講生を含みます。
+   * アーカイブ済みの受講生は、見つからなかった受講生IDとして返します。
+   * <p>
+   * 受講生IDを{@code student.lookup.chunk-size}件ずつに分け、受講生情報と受講生コース情報を結合した
+   * IN 検索を1チャンクにつき1回発行します。全チャンクは1つの読み取り専用トランザクションで取得します。<br>
+   * 一度に多数の受講生を取得するため、個別取得のキャッシュは使用しません（キャッシュ中の他の受講生が破棄されないようにするため）。
+   *
+   * @param studentIds 受講生IDのリスト（重複は1件として扱う）
+   * @return 見つかった受講生詳細情報と、見つからなかった受講生ID（いずれもリクエストの並び順）
+   */
+  @Transactional(readOnly = true)
+  public StudentLookupResult getStudentDetailsByIds(List<String> studentIds) {
+    List<String> distinctIds = studentIds.stream().distinct().toList();
+
+    // データベースから返る受講生IDは小文字のため、小文字に揃えて照合する
+    Map<String, StudentDetail> found = new HashMap<>();
+    for (int from = 0; from < distinctIds.size(); from += lookupChunkSize) {
+      List<String> chunk = distinctIds.subList(from,
+          Math.min(from + lookupChunkSize, distinctIds.size()));
+      repository.findStudentDetailsByIds(chunk).forEach(studentDetail -> found.put(
+          studentDetail.getStudent().getStudentId().toLowerCase(Locale.ROOT), studentDetail));
+    }
 
-    StudentDetail studentDetail = new StudentDetail(student, courses);
+    List<StudentDetail> studentDetails = new ArrayList<>(found.size());
+    List<String> missingStudentIds = new ArrayList<>();
+    for (String studentId : distinctIds) {
+      StudentDetail studentDetail = found.get(studentId.toLowerCase(Locale.ROOT));
+      if (studentDetail == null) {
+        missingStudentIds.add(studentId);
+      } else {
+        studentDetails.add(studentDetail);
+      }
+    }
+    return new StudentLookupResult(studentDetails, missingStudentIds);
+  }
 
-    return studentDetail;
+  /**
+   * 受講生情報全体のバージョンと最終更新日時を取得します。
+   * いずれかの受講生が登録・更新・アーカイブされると、バージョンが変わります。
+   * 受講生の人数によらず、1行の読み込みで取得できます。
+   * <p>
+   * スナップショットが有効な場合は、一覧をスナップショットから返すため、スナップショットを読み込んだ時点のバージョンを返します。
+   *
+   * @return バージョンと最終更新日時
+   */
+  @Transactional(readOnly = true)
+  public StudentVersion getRosterVersion() {
+    RosterSnapshot snapshot = currentSnapshot();
+    if (snapshot != null) {
+      // 一覧の取得までにスナップショットが差し替わった場合、ETagは古くなるが、次回の取得で一致しないため304は返さない
+      return snapshot.getVersion();
+    }
+    return repository.findRosterVersion();
   }
 
   /**
    * 受講生コース情報の一覧を取得します。
    * 対象は、指定したコース名と一致する受講生コース情報です。(大文字小文字の区別はしません。)
+   * データベースの照合順序と同じく、全角・半角、ひらがな・カタカナ、濁点の有無なども区別しません。
    * 論理削除済みの受講生を含みます。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
    * <p>
    * コース名が未指定（nullまたは空文字）の場合、すべての受講生コース情報を返します。
+   * スナップショットが有効な場合は、データベースにアクセスせずにスナップショットから返します。<br>
+   * コース名を指定し、コースの索引が有効な場合は、データベースにアクセスせずに索引から返します。(詳細は{@link EnrollmentIndex}を参照)
    *
    * @param courseName コース名 (nullまたは空文字の場合は、すべての受講生コース情報が対象)
    * @return 受講生コース情報のリスト（コース名を指定した場合は該当コースのみ。論理削除済みの受講生を含む）
    */
+  @Transactional(readOnly = true)
   public List<StudentCourse> getCourses(String courseName) {
-    List<StudentCourse> allCourses = repository.searchCourses();
-
+    RosterSnapshot snapshot = currentSnapshot();
+    if (snapshot != null) {
+      return snapshot.getStudentCourses(courseName);
+    }
     if (courseName != null && !courseName.trim().isEmpty()) {
-      return allCourses.stream()
+      EnrollmentIndex index = readyEnrollmentIndex();
+      if (index != null) {
+        // 存在しないコース名の場合は、該当なし
+        return CourseType.findByCourseNameIgnoreCase(courseName)
+            .map(courseType -> index.getStudentCourses(courseType.getCourseId()))
+            .orElse(List.of());
+      }
+      return repository.searchCoursesByCourseName(courseName);
+    }
+    return repository.searchCourses();
+  }
 
-          .filter(course -> course.getCourseName().equalsIgnoreCase(courseName))
-          .collect(Collectors.toList());
+  /**
+   * 受講生コース情報の一覧を1ページ分取得します。
+   * （受講生ID, コースID）の昇順で取得します。論理削除済みの受講生を含みます。
+   * ただし、アーカイブ済みの受講生（論理削除から{@code student.archive.retention}が経過し、アーカイブテーブルへ移動した受講生）は含みません。
+   *
+   * @param courseName コース名 (nullまたは空文字の場合は、すべての受講生コース情報が対象)
+   * @param after      前のページで返されたカーソル（nullの場合は先頭ページ）
+   * @param limit      1ページあたりの件数
+   * @return 受講生コース情報の1ページ分と、次のページのカーソル
+   * @throws InvalidCursorException カーソルの形式が正しくない場合にスロー
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<StudentCourse> getCoursesPage(String courseName, String after, int limit) {
+    String afterStudentId = null;
+    String afterCourseId = null;
+    if (after != null) {
+      List<String> keys = PageCursor.decode(after, 2);
+      afterStudentId = keys.get(0);
+      afterCourseId = keys.get(1);
+    }
+
+    List<StudentCourse> courses = searchCoursesAfter(courseName, afterStudentId, afterCourseId,
+        limit + 1);
+
+    if (courses.size() <= limit) {
+      return new CursorPage<>(courses, null);
+    }
+
+    courses = courses.subList(0, limit);
+    StudentCourse last = courses.get(limit - 1);
+
+    return new CursorPage<>(courses, PageCursor.encode(last.getStudentId(), last.getCourseId()));
+  }
+
+  /**
+   * 指定したキーより後の受講生コース情報を、（受講生ID, コースID）の昇順で取得します。
+   * スナップショット、コースの索引、データベースの順に、利用できるものから取得します。
+   */
+  private List<StudentCourse> searchCoursesAfter(String courseName, String afterStudentId,
+      String afterCourseId, int limit) {
+    RosterSnapshot snapshot = currentSnapshot();
+    if (snapshot != null) {
+      return snapshot.getStudentCoursesAfter(courseName, afterStudentId, afterCourseId, limit);
+    }
+    EnrollmentIndex index = readyEnrollmentIndex();
+    if (index != null && courseName != null && !courseName.trim().isEmpty()) {
+      return CourseType.findByCourseNameIgnoreCase(courseName)
+          .map(courseType -> index.getStudentCoursesAfter(courseType.getCourseId(),
+              afterStudentId, afterCourseId, limit))
+          .orElse(List.of());
+    }
+    return repository.searchCoursesPage(courseName, afterStudentId, afterCourseId, limit);
+  }
+
+  /**
+   * 氏名・ふりがな・ニックネームのいずれかに検索文字列を含む受講生情報を、1ページ分取得します。
+   * <p>
+   * データベースにはアクセスせず、メモリ上の索引から返します。(詳細は{@link StudentNameIndex}を参照)<br>
+   * 完全一致、前方一致、部分一致の順に並べ、カーソルには前のページの最後の受講生の並び順のキーを保持します。
+   *
+   * @param query          検索文字列
+   * @param includeDeleted 論理削除済みの受講生を含めるかどうか
+   * @param after          前のページで返されたカーソル（nullの場合は先頭ページ）
+   * @param limit          1ページあたりの件数
+   * @return 受講生情報の1ページ分と、次のページのカーソル
+   * @throws SearchIndexNotReadyException 索引の読み込みが完了していない場合にスロー
+   * @throws InvalidCursorException       カーソルの形式が正しくない場合にスロー
+   */
+  public CursorPage<Student> searchStudentsByName(String query, boolean includeDeleted,
+      String after, int limit) {
+    StudentNameIndex index = searchIndex.get();
+    if (index == null) {
+      throw new SearchIndexNotReadyException();
+    }
+    List<Match> matches = index.search(query, includeDeleted);
+
+    int from = 0;
+    if (after != null) {
+      int position = Collections.binarySearch(matches, decodeSearchCursor(after),
+          StudentNameIndex.ORDER);
+      from = position >= 0 ? position + 1 : -position - 1;
+    }
+    int to = Math.min(from + limit, matches.size());
+    List<Student> students = matches.subList(from, to).stream().map(Match::student).toList();
+
+    if (to == matches.size()) {
+      return new CursorPage<>(students, null);
+    }
+    Match last = matches.get(to - 1);
+    return new CursorPage<>(students, PageCursor.encode(String.valueOf(last.rank()),
+        String.valueOf(last.length()), last.studentId()));
+  }
+
+  private static Match decodeSearchCursor(String after) {
+    List<String> keys = PageCursor.decode(after, 3);
+    try {
+      return new Match(keys.get(2), Integer.parseInt(keys.get(0)), Integer.parseInt(keys.get(1)),
+          null);
+    } catch (NumberFormatException e) {
+      throw new InvalidCursorException(after);
     }
-    return allCourses;
   }
 
   /**
    * 受講生詳細情報を登録します。
    * 受講生情報と受講生コース情報をそれぞれ登録します。
    * <p>
-   * UUIDを受講生IDとして付与し、コース情報と関連付けてデータベースに保存します。<br>
+   * 時刻順のUUID（{@link StudentIdGenerator}）を受講生IDとして付与し、コース情報と関連付けてデータベースに保存します。<br>
    * コース開始日・コース終了日がnullの場合は、自動的に日付が補完されます。(詳細は{@link #setDefaultCourseDatesIfNull(StudentCourse
    * studentCourse)}を参照)
    *
@@ -119,7 +416,7 @@ public class StudentService {
   @Transactional
   public void registerStudent(StudentDetail studentDetail) {
 
-    String studentUuid = UUID.randomUUID().toString();
+    String studentUuid = StudentIdGenerator.next();
 
     studentDetail.getStudent().setStudentId(studentUuid);
 
@@ -138,12 +435,22 @@ public class StudentService {
 
       repository.saveStudentCourse(studentCourse);
     });
+
+    // 変更の取得（GET /students/changes）用に、同じトランザクションで変更履歴に記録する
+    // 変更IDの採番からコミットまでの時間を短くするため、最後に記録する
+    repository.saveStudentChanges(List.of(studentUuid), ChangeType.CREATED);
+    // 受講生情報全体のバージョンの行ロックは、他の登録・更新を待たせるため、最後に取得する
+    repository.incrementRosterVersion();
+
+    // キャッシュやメモリ上の索引へ、コミット後に反映する
+    eventPublisher.publishEvent(
+        new StudentsChangedEvent(List.of(studentUuid), studentDetail.getStudentsCourses()));
   }
 
   /**
    * UUIDを共通の受講生IDとして登録することにより、受講生情報と受講生コース情報を紐付けます。
    */
-  private static void initStudentCourse(StudentCourse studentCourse, String courseID,
+  static void initStudentCourse(StudentCourse studentCourse, String courseID,
       String studentUuid) {
 
     studentCourse.setCourseId(courseID);
@@ -167,9 +474,10 @@ public class StudentService {
    * 論理削除状態 (削除済みフラグ) の更新もここで行います。
    * <p>
    * リクエストボディに含まれる受講生IDとコース名をもとに対象を特定し、更新を行います。
-   * 対象となる受講生コース情報の特定は、受講生IDに紐づくコース情報の中から、コース名に対応するコースIDを取得し、
-   * そのコースIDと一致するものを検索することで行います。<br>
-   * 該当コースが存在する場合は更新、存在しない場合は新規登録を行います。
+   * 受講生の存在確認は、事前の検索ではなく、受講生情報の更新で一致した行数により行います。
+   * 一致しなかった場合は、アーカイブ済みの受講生を受講生情報テーブルに戻してから更新します（アーカイブが有効な場合のみ）。<br>
+   * 対象となる受講生コース情報は、受講生IDとコース名に対応するコースIDの組み合わせで特定します。
+   * 該当コースが存在する場合は更新、存在しない場合は新規登録を、1回のクエリ（UPSERT）でまとめて行います。
    * <p>
    * 受講生情報と受講生コース情報を関連付けるため、受講生情報の受講生IDを、受講生コース情報の受講生IDに紐付けます。<br>
    * コース開始日・コース終了日がnullの場合は、自動的に日付が補完されます。(詳細は{@link #setDefaultCourseDatesIfNull(StudentCourse
@@ -182,34 +490,81 @@ public class StudentService {
   public void updateStudentDetail(StudentDetail studentDetail) {
 
     String studentId = studentDetail.getStudent().getStudentId();
+    boolean restored = false;
 
-    repository.findById(studentId)
-        .orElseThrow(() -> new StudentNotFoundException(studentId));
-
-    repository.updateStudent(studentDetail.getStudent());
-
-    List<StudentCourse> existingCourses = repository.findCourseById(studentId);
+    // MySQLドライバは既定で「変更した行数」ではなく「一致した行数」を返すため、値に変更がなくても1になる
+    if (repository.updateStudent(studentDetail.getStudent()) == 0) {
+      if (!restoreArchivedStudent(studentId)) {
+        throw new StudentNotFoundException(studentId);
+      }
+      restored = true;
+      repository.updateStudent(studentDetail.getStudent());
+    }
 
     // 受講生が複数のコースを受講できるよう、全てのコース情報を処理する
     for (StudentCourse studentCourse : studentDetail.getStudentsCourses()) {
 
       String courseId = CourseType.fromCourseName(studentCourse.getCourseName()).getCourseId();
 
-      studentCourse.setCourseId(courseId);
-
       initStudentCourse(studentCourse, courseId, studentId);
 
       setDefaultCourseDatesIfNull(studentCourse);
+    }
 
-      boolean courseExists = existingCourses.stream()
-          .anyMatch(existing -> existing.getCourseId().equals(courseId));
+    if (!studentDetail.getStudentsCourses().isEmpty()) {
+      repository.upsertStudentCourses(studentDetail.getStudentsCourses());
+    }
 
-      if (courseExists) {
-        repository.updateStudentCourse(studentCourse);
-      } else {
-        repository.saveStudentCourse(studentCourse);
-      }
+    // 変更の取得（GET /students/changes）用に、同じトランザクションで変更履歴に記録する
+    repository.saveStudentChanges(List.of(studentId), ChangeType.UPDATED);
+    // 受講生情報全体のバージョンの行ロックは、他の登録・更新を待たせるため、最後に取得する
+    repository.incrementRosterVersion();
+
+    // アーカイブから戻した場合は、リクエストに含まれないコースも戻るため、受講生コース情報をすべて通知する
+    List<StudentCourse> changedCourses = restored
+        ? repository.findCoursesByStudentIds(List.of(studentId))
+        : studentDetail.getStudentsCourses();
+
+    // キャッシュやメモリ上の索引へ、コミット後に反映する
+    eventPublisher.publishEvent(new StudentsChangedEvent(List.of(studentId), changedCourses));
+  }
+
+  /**
+   * アーカイブ済みの受講生の受講生情報と受講生コース情報を、アーカイブテーブルから元のテーブルに戻します。
+   *
+   * @param studentId 受講生ID
+   * @return 戻した場合はtrue（アーカイブされていない場合、またはアーカイブが無効な場合はfalse）
+   */
+  private boolean restoreArchivedStudent(String studentId) {
+    // アーカイブが無効な場合は、アーカイブテーブルが作成されていないことがあるため参照しない
+    if (!archiveEnabled || repository.restoreStudent(studentId) == 0) {
+      return false;
     }
+    // 外部キー制約があるため、受講生情報を先に戻す
+    repository.restoreStudentCourses(studentId);
+    repository.deleteArchivedStudentCourses(studentId);
+    repository.deleteArchivedStudent(studentId);
+    return true;
+  }
+
+  /**
+   * 現在のスナップショットを取得します。
+   *
+   * @return 現在のスナップショット（スナップショットが無効、または読み込み完了前の場合はnull）
+   */
+  private RosterSnapshot currentSnapshot() {
+    StudentRosterSnapshot snapshot = rosterSnapshot.getIfAvailable();
+    return snapshot == null ? null : snapshot.get();
+  }
+
+  /**
+   * 読み込みが完了しているコースの索引を取得します。
+   *
+   * @return コースの索引（索引が無効、または読み込み完了前の場合はnull）
+   */
+  private EnrollmentIndex readyEnrollmentIndex() {
+    EnrollmentIndex index = enrollmentIndex.getIfAvailable();
+    return index != null && index.isReady() ? index : null;
   }
 
   /**
@@ -223,7 +578,7 @@ public class StudentService {
    *
    * @param studentCourse 受講生コース情報
    */
-  private static void setDefaultCourseDatesIfNull(StudentCourse studentCourse) {
+  static void setDefaultCourseDatesIfNull(StudentCourse studentCourse) {
     LocalDate now = LocalDate.now();
 
     if (Objects.isNull(studentCourse.getCourseStartDate())) {
@@ -233,25 +588,4 @@ public class StudentService {
       studentCourse.setCourseExpectedEndDate(studentCourse.getCourseStartDate().plusYears(1));
     }
   }
-
-  /**
-   * 受講生情報を取得します。
-   * 対象は、すべての受講生 (論理削除済みの受講生を含む) の中で、指定した範囲の年齢に該当する受講生です。
-   * <p>
-   * 下限もしくは上限の年齢がnullの場合は、nullは無視し、指定された範囲のみで絞り込みを行います。
-   * 例えば、下限がnullで上限が30の場合、30歳以下の受講生情報を返します。
-   * また、年齢の下限と上限の両方がnullの場合は、すべての受講生情報を返します。
-   *
-   * @param minAge 年齢の下限（nullの場合は下限なし）
-   * @param maxAge 年齢の上限（nullの場合は上限なし）
-   * @return 指定した範囲の年齢に該当する受講生情報のリスト (論理削除済みの受講生を含む)
-   */
-  public List<Student> getStudents(Integer minAge, Integer maxAge) {
-    List<Student> allStudents = repository.searchStudents();
-    return allStudents.stream()
-
-        .filter(student -> (minAge == null || student.getAge() >= minAge)
-            && (maxAge == null || student.getAge() <= maxAge))
-        .collect(Collectors.toList());
-  }
 }
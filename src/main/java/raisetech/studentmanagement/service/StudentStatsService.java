@@ -0,0 +1,81 @@
+package raisetech.studentmanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.studentmanagement.data.CourseCount;
+import raisetech.studentmanagement.data.CourseType;
+import raisetech.studentmanagement.data.StudentCounts;
+import raisetech.studentmanagement.domain.EnrollmentStats;
+import raisetech.studentmanagement.domain.EnrollmentStats.AgeBucket;
+import raisetech.studentmanagement.domain.EnrollmentStats.CourseStats;
+import raisetech.studentmanagement.repository.StudentRepository;
+
+/**
+ * 受講生情報と受講生コース情報の集計に関するビジネスロジックを提供する、Serviceクラスです。
+ * <p>
+ * 集計はデータベースの{@code GROUP BY}で行い、受講生情報の一覧を取得せずに件数のみを受け取ります。
+ * 3つの集計クエリは1つの読み取り専用トランザクションで実行し、同じ時点のデータを集計します。<br>
+ * 各メソッドの処理時間は、メトリクス{@code student.service}として記録します。
+ */
+@Timed(value = "student.service", histogram = true)
+@Service
+public class StudentStatsService {
+
+  private final StudentRepository repository;
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository 受講生リポジトリ
+   */
+  @Autowired
+  public StudentStatsService(StudentRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 受講生情報と受講生コース情報の集計結果を取得します。
+   *
+   * @param ageBucketWidth   年齢の区間の幅（歳）
+   * @param endingWithinDays 終了予定日が今日から何日後までのコースを、終了間近として数えるか
+   * @return 集計結果
+   */
+  @Transactional(readOnly = true)
+  public EnrollmentStats getStats(int ageBucketWidth, int endingWithinDays) {
+    LocalDate endingFrom = LocalDate.now();
+    LocalDate endingTo = endingFrom.plusDays(endingWithinDays);
+
+    StudentCounts studentCounts = repository.countStudents();
+    Map<String, CourseCount> countsByCourseId =
+        repository.countCoursesByCourseId(endingFrom, endingTo).stream()
+            .collect(Collectors.toMap(CourseCount::getCourseId, Function.identity()));
+
+    List<CourseStats> courses = Arrays.stream(CourseType.values())
+        .map(type -> {
+          CourseCount count = countsByCourseId.getOrDefault(type.getCourseId(),
+              new CourseCount(type.getCourseId(), 0, 0, 0));
+          return new CourseStats(type.getCourseId(), type.getCourseName(), count.getTotal(),
+              count.getActive(), count.getEndingSoon());
+        })
+        .toList();
+
+    List<AgeBucket> ageHistogram = repository.countStudentsByAge(ageBucketWidth).stream()
+        .map(count -> new AgeBucket(count.getLowerBound(),
+            count.getLowerBound() + ageBucketWidth - 1, count.getCount()))
+        .toList();
+
+    long coursesEndingSoon = courses.stream().mapToLong(CourseStats::getEndingSoon).sum();
+
+    return new EnrollmentStats(studentCounts.getTotal(), studentCounts.getActive(),
+        studentCounts.getDeleted(), courses, ageHistogram, endingFrom, endingTo,
+        coursesEndingSoon);
+  }
+}
@@ -0,0 +1,43 @@
+package raisetech.studentmanagement.service;
+
+import java.util.List;
+import raisetech.studentmanagement.data.StudentCourse;
+
+/**
+ * 受講生詳細情報が登録・更新、またはアーカイブされたことを通知するイベントです。
+ * <p>
+ * キャッシュやメモリ上の索引など、データベースの内容を元に作られたデータを最新の状態に保つために使用します。
+ * 受け取る側は、{@code @TransactionalEventListener}によりコミット後に処理します。
+ *
+ * @param studentIds     登録・更新、またはアーカイブした受講生ID
+ * @param studentCourses 登録・更新した受講生コース情報（アーカイブから戻した場合は、戻した受講生コース情報を含む。アーカイブの場合は空）
+ * @param removed        受講生情報テーブルから取り除いた（アーカイブした）場合はtrue
+ */
+public record StudentsChangedEvent(List<String> studentIds, List<StudentCourse> studentCourses,
+    boolean removed) {
+
+  public StudentsChangedEvent {
+    studentIds = List.copyOf(studentIds);
+    studentCourses = List.copyOf(studentCourses);
+  }
+
+  /**
+   * 受講生詳細情報の登録・更新を通知するイベントを生成します。
+   *
+   * @param studentIds     登録・更新した受講生ID
+   * @param studentCourses 登録・更新した受講生コース情報
+   */
+  public StudentsChangedEvent(List<String> studentIds, List<StudentCourse> studentCourses) {
+    this(studentIds, studentCourses, false);
+  }
+
+  /**
+   * 受講生を受講生情報テーブルから取り除いた（アーカイブした）ことを通知するイベントを生成します。
+   *
+   * @param studentIds アーカイブした受講生ID
+   * @return イベント
+   */
+  public static StudentsChangedEvent removed(List<String> studentIds) {
+    return new StudentsChangedEvent(studentIds, List.of(), true);
+  }
+}
@@ -0,0 +1,58 @@
+package raisetech.studentmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.studentmanagement.config.ReadWriteRoutingDataSource.Target;
+
+class ReadWriteRoutingDataSourceTest {
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  @Test
+  void 読み取り専用のトランザクション内の場合のみレプリカに振り分けられること() {
+    ReadWriteRoutingDataSource sut =
+        routingDataSource(new ReadYourWritesWindow(Duration.ofHours(1)));
+
+    assertThat(sut.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertThat(sut.determineCurrentLookupKey()).isEqualTo(Target.REPLICA);
+  }
+
+  @Test
+  void 書き込み直後の期間内は読み取り専用のトランザクションもプライマリに振り分けられること() {
+    ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofHours(1));
+    ReadWriteRoutingDataSource sut = routingDataSource(window);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    window.recordWrite();
+
+    assertThat(window.isActive()).isTrue();
+    assertThat(sut.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+  }
+
+  @Test
+  void 書き込み直後の期間が過ぎた場合はレプリカに振り分けられること() {
+    ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ZERO);
+    ReadWriteRoutingDataSource sut = routingDataSource(window);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    window.recordWrite();
+
+    assertThat(window.isActive()).isFalse();
+    assertThat(sut.determineCurrentLookupKey()).isEqualTo(Target.REPLICA);
+  }
+
+  private static ReadWriteRoutingDataSource routingDataSource(ReadYourWritesWindow window) {
+    return new ReadWriteRoutingDataSource(new DriverManagerDataSource("jdbc:primary"),
+        new DriverManagerDataSource("jdbc:replica"), window);
+  }
+}
@@ -0,0 +1,110 @@
+package raisetech.studentmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaDataSourceConfigTest {
+
+  private final List<String> servedBy = new CopyOnWriteArrayList<>();
+
+  @Test
+  void 読み取り専用のトランザクションはレプリカで実行されること() {
+    DataSource sut = dataSource(new ReadYourWritesWindow(Duration.ofHours(1)));
+
+    executeInTransaction(sut, true);
+
+    assertThat(servedBy).isNotEmpty().containsOnly("replica");
+  }
+
+  @Test
+  void 書き込みを行うトランザクションはプライマリで実行されること() {
+    DataSource sut = dataSource(new ReadYourWritesWindow(Duration.ofHours(1)));
+
+    executeInTransaction(sut, false);
+
+    assertThat(servedBy).isNotEmpty().containsOnly("primary");
+  }
+
+  @Test
+  void 書き込み直後の期間内は読み取り専用のトランザクションもプライマリで実行されること() {
+    ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofHours(1));
+    DataSource sut = dataSource(window);
+
+    window.recordWrite();
+    executeInTransaction(sut, true);
+
+    assertThat(servedBy).isNotEmpty().containsOnly("primary");
+  }
+
+  private DataSource dataSource(ReadYourWritesWindow window) {
+    DataSource dataSource = new ReplicaDataSourceConfig().dataSource(
+        new RecordingDataSource("primary", servedBy), new RecordingDataSource("replica", servedBy),
+        window);
+    // LazyConnectionDataSourceProxyの初期化時に、既定の接続設定の確認で取得した分を除く
+    servedBy.clear();
+    return dataSource;
+  }
+
+  private static void executeInTransaction(DataSource dataSource, boolean readOnly) {
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(readOnly);
+    transactionTemplate.executeWithoutResult(status -> {
+      // 最初のSQLの実行時に、実際の接続先から接続を取得する
+      Connection connection = DataSourceUtils.getConnection(dataSource);
+      try {
+        connection.createStatement();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  /**
+   * 接続の取得を記録する、プライマリ・レプリカの代わりのDataSourceです。
+   * 返す接続は、どのメソッドも何もせず、戻り値の型の既定値を返します。
+   */
+  private static class RecordingDataSource extends AbstractDataSource {
+
+    private final String name;
+    private final List<String> servedBy;
+
+    RecordingDataSource(String name, List<String> servedBy) {
+      this.name = name;
+      this.servedBy = servedBy;
+    }
+
+    @Override
+    public Connection getConnection() {
+      servedBy.add(name);
+      return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+          new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+              return false;
+            }
+            if (returnType == int.class) {
+              return 0;
+            }
+            return null;
+          });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+      return getConnection();
+    }
+  }
+}
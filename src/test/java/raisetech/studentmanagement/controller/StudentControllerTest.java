@@ -0,0 +1,23 @@
+package raisetech.studentmanagement.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StudentControllerTest {
+
+  @Test
+  void gzipの品質値が0の場合はアスタリスクの指定があってもgzipを受け入れないこと() {
+    assertThat(StudentController.acceptsGzip("gzip;q=0, *")).isFalse();
+    assertThat(StudentController.acceptsGzip("*, gzip;q=0")).isFalse();
+  }
+
+  @Test
+  void gzipまたはアスタリスクを受け入れている場合はgzipを受け入れること() {
+    assertThat(StudentController.acceptsGzip("gzip, deflate, br")).isTrue();
+    assertThat(StudentController.acceptsGzip("*")).isTrue();
+    assertThat(StudentController.acceptsGzip("*;q=0, gzip")).isTrue();
+    assertThat(StudentController.acceptsGzip("br")).isFalse();
+    assertThat(StudentController.acceptsGzip(null)).isFalse();
+  }
+}
@@ -0,0 +1,131 @@
+package raisetech.studentmanagement.controller.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+class StudentConverterTest {
+
+  private final StudentConverter sut = new StudentConverter();
+
+  @Test
+  void 受講生情報とコース情報が受講生IDで結合され入力順が保持されること() {
+    List<Student> students = List.of(student("s2"), student("s1"), student("s3"));
+    List<StudentCourse> courses = List.of(
+        course("s1", "A001"), course("s2", "A002"), course("s1", "A003"));
+
+    List<StudentDetail> actual = sut.convertStudentDetails(students, courses);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly("s2", "s1", "s3");
+    assertThat(actual.get(0).getStudentsCourses()).extracting(StudentCourse::getCourseId)
+        .containsExactly("A002");
+    assertThat(actual.get(1).getStudentsCourses()).extracting(StudentCourse::getCourseId)
+        .containsExactly("A001", "A003");
+    assertThat(actual.get(2).getStudentsCourses()).isEmpty();
+  }
+
+  @Test
+  void 並列処理でも逐次処理と同じ結果になること() {
+    List<Student> students = new ArrayList<>();
+    List<StudentCourse> courses = new ArrayList<>();
+    createRoster(10_000, students, courses);
+
+    List<StudentDetail> sequential = sut.convertStudentDetails(students, courses, false);
+    List<StudentDetail> parallel = sut.convertStudentDetails(students, courses, true);
+
+    assertThat(parallel).hasSameSizeAs(sequential);
+    for (int i = 0; i < sequential.size(); i++) {
+      assertThat(parallel.get(i).getStudent()).isSameAs(sequential.get(i).getStudent());
+      assertThat(parallel.get(i).getStudentsCourses())
+          .containsExactlyElementsOf(sequential.get(i).getStudentsCourses());
+    }
+  }
+
+  @Test
+  void 大量データでもすべての受講生に自身のコースだけが入力順で結合されること() {
+    // 処理時間はJMHのベンチマークで計測するため、ここでは結合結果の正しさのみを確認する
+    List<Student> students = new ArrayList<>();
+    List<StudentCourse> courses = new ArrayList<>();
+    createRoster(100_000, students, courses);
+    // コースの並びを受講生の順序と無関係にする（受講生ごとのコースの相対順序は保つ）
+    List<StudentCourse> reordered = new ArrayList<>(courses.size());
+    for (int start = 0; start < 3; start++) {
+      for (int i = start; i < courses.size(); i += 3) {
+        reordered.add(courses.get(i));
+      }
+    }
+
+    List<StudentDetail> actual = sut.convertStudentDetails(students, reordered);
+
+    assertThat(actual).hasSize(100_000);
+    for (int i = 0; i < actual.size(); i++) {
+      StudentDetail detail = actual.get(i);
+      assertThat(detail.getStudent()).isSameAs(students.get(i));
+      assertThat(detail.getStudentsCourses())
+          .extracting(StudentCourse::getStudentId, StudentCourse::getCourseId)
+          .containsExactly(
+              tuple(students.get(i).getStudentId(), "A001"),
+              tuple(students.get(i).getStudentId(), "A002"),
+              tuple(students.get(i).getStudentId(), "A003"));
+    }
+  }
+
+  @Test
+  void 並び順の崩れたコースがある場合は例外がスローされること() {
+    List<Student> students = List.of(student("s1"), student("s3"));
+    List<StudentCourse> courses = List.of(
+        course("s1", "A001"),
+        course("s3", "A002"),
+        course("s1", "A009"));
+    List<StudentDetail> actual = new ArrayList<>();
+
+    assertThatThrownBy(() -> sut.mergeStudentDetails(students, courses, actual::add))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("受講生ID=s1, コースID=A009");
+    assertThat(actual).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly("s1");
+  }
+
+  @Test
+  void 最後の受講生より後に対応する受講生のいないコースがある場合は例外がスローされること() {
+    List<Student> students = List.of(student("s1"));
+    List<StudentCourse> courses = List.of(course("s1", "A001"), course("s2", "A009"));
+
+    assertThatThrownBy(() -> sut.mergeStudentDetails(students, courses, detail -> {
+    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("受講生ID=s2, コースID=A009");
+  }
+
+  private static void createRoster(int size, List<Student> students,
+      List<StudentCourse> courses) {
+    for (int i = 0; i < size; i++) {
+      String studentId = "student-" + i;
+      students.add(student(studentId));
+      courses.add(course(studentId, "A001"));
+      courses.add(course(studentId, "A002"));
+      courses.add(course(studentId, "A003"));
+    }
+  }
+
+  private static Student student(String studentId) {
+    Student student = new Student();
+    student.setStudentId(studentId);
+    return student;
+  }
+
+  private static StudentCourse course(String studentId, String courseId) {
+    StudentCourse course = new StudentCourse();
+    course.setStudentId(studentId);
+    course.setCourseId(courseId);
+    return course;
+  }
+}
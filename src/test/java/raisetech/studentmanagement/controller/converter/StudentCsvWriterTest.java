@@ -0,0 +1,45 @@
+package raisetech.studentmanagement.controller.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.data.StudentCourse;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+class StudentCsvWriterTest {
+
+  @Test
+  void 受講生コース情報1件につき1行が出力され_特殊文字を含む項目がエスケープされること()
+      throws IOException {
+    Student student = new Student("s1", "山田 太郎", "やまだ たろう", "タロ", "090-1234-5678",
+        "taro@example.com", "渋谷区", 30, "男性", "会社員", "備考に\"引用\"と,カンマ", false);
+    StudentCourse course1 = new StudentCourse("c1", "s1", "Java",
+        LocalDate.of(2025, 4, 1), LocalDate.of(2026, 4, 1));
+    StudentCourse course2 = new StudentCourse("c2", "s1", "AWS", null, null);
+    Student noCourse = new Student("s2", "佐藤 花子", "さとう はなこ", "ハナ", "09012345678",
+        "hanako@example.com", "横浜市", null, "女性", "学生", null, true);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (StudentCsvWriter sut = new StudentCsvWriter(out, 16)) {
+      sut.writeHeader();
+      sut.write(new StudentDetail(student, List.of(course1, course2)));
+      sut.write(new StudentDetail(noCourse, List.of()));
+    }
+
+    assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+        "studentId,fullName,furiganaName,nickName,phoneNumber,mailAddress,municipalityName,"
+            + "age,sex,occupation,remark,deleted,"
+            + "courseId,courseName,courseStartDate,courseExpectedEndDate",
+        "s1,山田 太郎,やまだ たろう,タロ,090-1234-5678,taro@example.com,渋谷区,30,男性,会社員,"
+            + "\"備考に\"\"引用\"\"と,カンマ\",false,c1,Java,2025-04-01,2026-04-01",
+        "s1,山田 太郎,やまだ たろう,タロ,090-1234-5678,taro@example.com,渋谷区,30,男性,会社員,"
+            + "\"備考に\"\"引用\"\"と,カンマ\",false,c2,AWS,,",
+        "s2,佐藤 花子,さとう はなこ,ハナ,09012345678,hanako@example.com,横浜市,,女性,学生,,true,,,,");
+  }
+}
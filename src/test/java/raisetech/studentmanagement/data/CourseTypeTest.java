@@ -0,0 +1,28 @@
+package raisetech.studentmanagement.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CourseTypeTest {
+
+  @Test
+  void 大文字小文字や全角半角が異なるコース名でもコースが見つかること() {
+    assertThat(CourseType.findByCourseNameIgnoreCase("JAVAフルコース")).contains(CourseType.JAVA_FULL);
+    assertThat(CourseType.findByCourseNameIgnoreCase("ａｗｓフルコース")).contains(CourseType.AWS_FULL);
+    assertThat(CourseType.findByCourseNameIgnoreCase("javaﾌﾙｺｰｽ")).contains(CourseType.JAVA_FULL);
+  }
+
+  @Test
+  void 照合順序と同じくひらがなとカタカナや濁点の有無を区別せずにコースが見つかること() {
+    assertThat(CourseType.findByCourseNameIgnoreCase("wordpress副業こーす"))
+        .contains(CourseType.WORDPRESS);
+    assertThat(CourseType.findByCourseNameIgnoreCase("テサインコース")).contains(CourseType.DESIGN);
+  }
+
+  @Test
+  void 定義されていないコース名の場合はコースが見つからないこと() {
+    assertThat(CourseType.findByCourseNameIgnoreCase("Pythonコース")).isEmpty();
+    assertThat(CourseType.findByCourseNameIgnoreCase(null)).isEmpty();
+  }
+}
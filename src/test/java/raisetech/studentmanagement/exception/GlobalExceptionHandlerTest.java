@@ -0,0 +1,116 @@
+package raisetech.studentmanagement.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.studentmanagement.config.ReadWriteRoutingDataSource;
+import raisetech.studentmanagement.config.ReadYourWritesWindow;
+
+class GlobalExceptionHandlerTest {
+
+  private final GlobalExceptionHandler sut = new GlobalExceptionHandler();
+
+  @Test
+  void トランザクションの開始時に接続を取得できない場合は503を返すこと() throws Exception {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(new ExhaustedDataSource()));
+
+    Throwable thrown = catchThrowable(() -> transactionTemplate.executeWithoutResult(status -> {
+    }));
+
+    assertThat(thrown).isInstanceOf(CannotCreateTransactionException.class);
+    assertServiceUnavailable(sut.handleCannotGetJdbcConnectionException((Exception) thrown));
+  }
+
+  @Test
+  void レプリカへの読み取り専用のトランザクションで接続を取得できない場合も503を返すこと()
+      throws Exception {
+    // アプリケーションと同じく、振り分けるDataSourceを遅延取得のプロキシで包む（プライマリが選ばれた場合は503にならない）
+    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+        new UnavailableDataSource(new SQLException("primary must not be used")),
+        new UnavailableDataSource(new SQLTransientConnectionException(
+            "replica - Connection is not available, request timed out after 2000ms.")),
+        new ReadYourWritesWindow(Duration.ZERO));
+    routingDataSource.afterPropertiesSet();
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+    dataSource.setTargetDataSource(routingDataSource);
+    dataSource.setDefaultAutoCommit(true);
+    dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    dataSource.afterPropertiesSet();
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(true);
+
+    Throwable thrown = catchThrowable(() -> transactionTemplate.executeWithoutResult(
+        status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class)));
+
+    assertThat(thrown).isInstanceOf(DataAccessException.class)
+        .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+    assertServiceUnavailable(sut.handleCannotGetJdbcConnectionException((Exception) thrown));
+  }
+
+  @Test
+  void 接続の取得待ち以外の理由でトランザクションを開始できない場合は例外をそのままスローすること() {
+    CannotCreateTransactionException ex = new CannotCreateTransactionException(
+        "Could not open JDBC Connection for transaction", new SQLException("Access denied"));
+
+    assertThatThrownBy(() -> sut.handleCannotGetJdbcConnectionException(ex)).isSameAs(ex);
+  }
+
+  private static void assertServiceUnavailable(ResponseEntity<Map<String, String>> response) {
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(response.getBody()).containsKey("error");
+  }
+
+  /**
+   * コネクションプールの上限に達し、取得待ちがタイムアウトした状態のDataSourceです（HikariCPと同じ例外をスローします）。
+   */
+  static class ExhaustedDataSource extends UnavailableDataSource {
+
+    ExhaustedDataSource() {
+      super(new SQLTransientConnectionException(
+          "pool - Connection is not available, request timed out after 2000ms."));
+    }
+  }
+
+  /**
+   * 接続の取得時に、指定した例外をスローするDataSourceです。
+   */
+  static class UnavailableDataSource extends AbstractDataSource {
+
+    private final SQLException exception;
+
+    UnavailableDataSource(SQLException exception) {
+      this.exception = exception;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      throw exception;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return getConnection();
+    }
+  }
+}
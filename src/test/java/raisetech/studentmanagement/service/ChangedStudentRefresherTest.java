@@ -0,0 +1,54 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+
+class ChangedStudentRefresherTest {
+
+  @Test
+  void 差し替えの実行中に受け付けた受講生IDは次回の差し替えにまとめて渡されること()
+      throws InterruptedException {
+    List<List<String>> refreshed = new CopyOnWriteArrayList<>();
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    CountDownLatch secondDone = new CountDownLatch(1);
+
+    ChangedStudentRefresher sut = new ChangedStudentRefresher("test-refresh", "テスト",
+        new ReentrantLock(), studentIds -> {
+          refreshed.add(studentIds.stream().sorted().toList());
+          if (refreshed.size() == 1) {
+            firstStarted.countDown();
+            await(releaseFirst);
+          } else {
+            secondDone.countDown();
+          }
+        });
+    try {
+      sut.submit(List.of("s1"));
+      assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      sut.submit(List.of("s2"));
+      sut.submit(List.of("s3", "s2"));
+      releaseFirst.countDown();
+
+      assertThat(secondDone.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(refreshed).containsExactly(List.of("s1"), List.of("s2", "s3"));
+    } finally {
+      sut.shutdown();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.StudentCourse;
+
+class CsvStudentReaderTest {
+
+  private static final String HEADER = "fullName,furiganaName,nickName,phoneNumber,mailAddress,"
+      + "municipalityName,age,sex,occupation,remark,courseName,courseStartDate\r\n";
+
+  @Test
+  void 同じメールアドレスの連続する行が1人の受講生にまとめられること() throws IOException {
+    String csv = HEADER
+        + "山田 太郎,やまだ たろう,タロ,090-1234-5678,taro@example.com,渋谷区,30,男性,会社員,"
+        + "\"複数行の\n\"\"備考\"\"\",Java,2025-04-01\r\n"
+        + "山田 太郎,やまだ たろう,タロ,090-1234-5678,taro@example.com,渋谷区,30,男性,会社員,,AWS,\r\n"
+        + "\r\n"
+        + "佐藤 花子,さとう はなこ,ハナ,09012345678,hanako@example.com,横浜市,20,女性,学生,,,\r\n";
+
+    try (CsvStudentReader sut = new CsvStudentReader(new BufferedReader(new StringReader(csv)))) {
+      ImportRecord first = sut.next();
+      ImportRecord second = sut.next();
+
+      assertThat(first.index()).isZero();
+      assertThat(first.errors()).isEmpty();
+      assertThat(first.studentDetail().getStudent().getRemark()).isEqualTo("複数行の\n\"備考\"");
+      assertThat(first.studentDetail().getStudentsCourses())
+          .extracting(StudentCourse::getCourseName, StudentCourse::getCourseStartDate)
+          .containsExactly(tuple("Java", LocalDate.of(2025, 4, 1)), tuple("AWS", null));
+
+      assertThat(second.index()).isEqualTo(2);
+      assertThat(second.studentDetail().getStudent().getAge()).isEqualTo(20);
+      assertThat(second.studentDetail().getStudentsCourses()).isEmpty();
+      assertThat(sut.next()).isNull();
+    }
+  }
+
+  @Test
+  void 数値や日付として読み込めない項目がエラーとして返されること() throws IOException {
+    String csv = HEADER
+        + "山田 太郎,やまだ たろう,タロ,090-1234-5678,taro@example.com,渋谷区,三十,男性,会社員,,Java,4月1日\r\n";
+
+    try (CsvStudentReader sut = new CsvStudentReader(new BufferedReader(new StringReader(csv)))) {
+      assertThat(sut.next().errors())
+          .containsOnlyKeys("student.age", "studentsCourses[0].courseStartDate");
+    }
+  }
+
+  @Test
+  void 必須の列がない場合は読み込みを開始できないこと() {
+    assertThatThrownBy(() -> new CsvStudentReader(
+        new BufferedReader(new StringReader("fullName,age\r\n"))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("mailAddress");
+  }
+}
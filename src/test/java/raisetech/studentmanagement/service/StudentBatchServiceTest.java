@@ -0,0 +1,62 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.domain.StudentDetail;
+
+class StudentBatchServiceTest {
+
+  @Test
+  void 大文字小文字や前後の空白のみが異なるメールアドレスはリクエスト内の重複とすること() {
+    List<StudentDetail> studentDetails = List.of(
+        studentDetail("Taro@Example.com"),
+        studentDetail("taro@example.com "),
+        studentDetail("hanako@example.com"));
+    List<Map<String, String>> validationErrors = noErrors(studentDetails.size());
+
+    Map<String, Integer> actual = StudentBatchService.collectMailAddresses(studentDetails,
+        validationErrors);
+
+    assertThat(actual).containsOnly(
+        Map.entry("taro@example.com", 0), Map.entry("hanako@example.com", 2));
+    assertThat(validationErrors.get(0)).isEmpty();
+    assertThat(validationErrors.get(1)).containsKey("student.mailAddress");
+    assertThat(validationErrors.get(2)).isEmpty();
+  }
+
+  @Test
+  void 登録済みのメールアドレスと大文字小文字のみが異なる場合も登録済みとすること() {
+    Map<String, Integer> indexByMailAddress = new HashMap<>();
+    indexByMailAddress.put("taro@example.com", 0);
+    indexByMailAddress.put("hanako@example.com", 1);
+    Map<Integer, Map<String, String>> errorsByIndex = new HashMap<>();
+
+    // データベースからは、登録済みの値（リクエストとは大文字・小文字が異なる）が返る
+    StudentBatchService.rejectRegisteredMailAddresses(
+        List.of("TARO@example.COM", "jiro@example.com"), indexByMailAddress, errorsByIndex);
+
+    assertThat(errorsByIndex).containsOnlyKeys(0);
+    assertThat(errorsByIndex.get(0)).containsKey("student.mailAddress");
+  }
+
+  private static List<Map<String, String>> noErrors(int size) {
+    List<Map<String, String>> errors = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      errors.add(new LinkedHashMap<>());
+    }
+    return errors;
+  }
+
+  private static StudentDetail studentDetail(String mailAddress) {
+    Student student = new Student();
+    student.setMailAddress(mailAddress);
+    return new StudentDetail(student, new ArrayList<>());
+  }
+}
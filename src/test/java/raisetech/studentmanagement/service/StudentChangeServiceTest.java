@@ -0,0 +1,43 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.ChangeType;
+import raisetech.studentmanagement.data.StudentChange;
+
+class StudentChangeServiceTest {
+
+  @Test
+  void 変更IDが連続している場合は確定前の変更もすべて返すこと() {
+    List<StudentChange> changes = List.of(change(11, false), change(12, false), change(13, false));
+
+    assertThat(StudentChangeService.settledPrefix(10, changes))
+        .extracting(StudentChange::getChangeId)
+        .containsExactly(11L, 12L, 13L);
+  }
+
+  @Test
+  void 欠番の後の変更が確定前の場合は欠番の手前までを返すこと() {
+    List<StudentChange> changes = List.of(change(11, true), change(13, false), change(14, false));
+
+    assertThat(StudentChangeService.settledPrefix(10, changes))
+        .extracting(StudentChange::getChangeId)
+        .containsExactly(11L);
+    assertThat(StudentChangeService.settledPrefix(11, changes.subList(1, 3))).isEmpty();
+  }
+
+  @Test
+  void 欠番の後の変更が確定済みの場合は欠番を飛ばして返すこと() {
+    List<StudentChange> changes = List.of(change(13, true), change(14, false), change(16, false));
+
+    assertThat(StudentChangeService.settledPrefix(10, changes))
+        .extracting(StudentChange::getChangeId)
+        .containsExactly(13L, 14L);
+  }
+
+  private static StudentChange change(long changeId, boolean settled) {
+    return new StudentChange(changeId, "s" + changeId, ChangeType.UPDATED, null, settled);
+  }
+}
@@ -0,0 +1,96 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.domain.VersionedStudentDetail;
+
+class StudentDetailCacheTest {
+
+  @Test
+  void 二回目以降の取得はキャッシュから返されること() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+
+    VersionedStudentDetail first = sut.get("s1", id -> load(loads));
+    VersionedStudentDetail second = sut.get("s1", id -> load(loads));
+
+    assertThat(second).isSameAs(first);
+    assertThat(loads).hasValue(1);
+    assertThat(sut.getStats()).isEqualTo(new StudentDetailCache.Stats(1, 1, 1, 0));
+  }
+
+  @Test
+  void 上限を超えた場合は最も長く参照されていないものが破棄されること() {
+    StudentDetailCache sut = new StudentDetailCache(2, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+
+    sut.get("s1", id -> load(loads));
+    sut.get("s2", id -> load(loads));
+    sut.get("s1", id -> load(loads));
+    sut.get("s3", id -> load(loads));
+    sut.get("s1", id -> load(loads));
+    sut.get("s2", id -> load(loads));
+
+    assertThat(loads).hasValue(4);
+    assertThat(sut.getStats().evictions()).isEqualTo(2);
+  }
+
+  @Test
+  void 保持期間を過ぎた場合は再取得されること() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ZERO);
+    AtomicInteger loads = new AtomicInteger();
+
+    sut.get("s1", id -> load(loads));
+    sut.get("s1", id -> load(loads));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void 無効化した場合は再取得されること() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+
+    sut.get("s1", id -> load(loads));
+    sut.onStudentsChanged(new StudentsChangedEvent(List.of("s1"), List.of()));
+    sut.get("s1", id -> load(loads));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void 大文字の受講生IDで取得した場合も小文字の受講生IDで無効化されること() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+
+    sut.get("0190A1B2-C3D4-7E5F-8A6B-7C8D9E0F1A2B", id -> load(loads));
+    sut.onStudentsChanged(
+        new StudentsChangedEvent(List.of("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b"), List.of()));
+    sut.get("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b", id -> load(loads));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void 取得中に無効化された場合はキャッシュに保持されないこと() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+
+    sut.get("s1", id -> {
+      sut.invalidate("s1");
+      return load(loads);
+    });
+    sut.get("s1", id -> load(loads));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  private static VersionedStudentDetail load(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return new VersionedStudentDetail();
+  }
+}
@@ -0,0 +1,45 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class StudentIdGeneratorTest {
+
+  @Test
+  void バージョン7のUUIDが生成されること() {
+    UUID uuid = UUID.fromString(StudentIdGenerator.next());
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16)
+        .isCloseTo(System.currentTimeMillis(), within(60_000L));
+  }
+
+  @Test
+  void 連続して生成したIDが文字列の辞書順で昇順になること() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(StudentIdGenerator.next());
+    }
+
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+  }
+
+  @Test
+  void 同じミリ秒内のカウンタを使い切った場合も時刻とカウンタが単調増加すること() {
+    long millis = System.currentTimeMillis();
+    long previous = StudentIdGenerator.nextTimestampAndSequence(millis);
+
+    for (int i = 0; i < 0x1000 * 2; i++) {
+      long current = StudentIdGenerator.nextTimestampAndSequence(millis);
+      assertThat(current).isGreaterThan(previous);
+      previous = current;
+    }
+    assertThat(previous >>> 16).isGreaterThan(millis);
+  }
+}
@@ -0,0 +1,77 @@
+package raisetech.studentmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import raisetech.studentmanagement.data.Student;
+import raisetech.studentmanagement.service.StudentNameIndex.Match;
+
+class StudentNameIndexTest {
+
+  private final StudentNameIndex sut = StudentNameIndex.of(List.of(
+      student("s1", "山田 太郎", "やまだ たろう", "タロ", false),
+      student("s2", "小山田 花子", "おやまだ はなこ", "ハナ", false),
+      student("s3", "山田", "やまだ", "ヤマ", false),
+      student("s4", "山田 次郎", "やまだ じろう", "ジロ", true)));
+
+  @Test
+  void カタカナや半角の検索文字列でもふりがなに一致し完全一致と前方一致と部分一致の順に並ぶこと() {
+    assertThat(sut.search("ﾔﾏﾀﾞ", false))
+        .extracting(Match::studentId, Match::rank)
+        .containsExactly(
+            tuple("s3", StudentNameIndex.EXACT),
+            tuple("s1", StudentNameIndex.PREFIX),
+            tuple("s2", StudentNameIndex.PARTIAL));
+  }
+
+  @Test
+  void 空白を除いた氏名で検索でき論理削除済みの受講生は指定した場合のみ含まれること() {
+    assertThat(sut.search("山田次", false)).isEmpty();
+    assertThat(sut.search("山田次", true)).extracting(Match::studentId).containsExactly("s4");
+    assertThat(sut.search("田", false)).extracting(Match::studentId)
+        .containsExactlyInAnyOrder("s1", "s2", "s3");
+  }
+
+  @Test
+  void 差し替えた受講生は差し替え後の名前でのみ一致し元の索引は変わらないこと() {
+    Map<String, Student> replacements = new HashMap<>();
+    replacements.put("s1", student("s1", "佐藤 太郎", "さとう たろう", "タロ", false));
+    replacements.put("s3", null);
+    replacements.put("s5", student("s5", "山田 三郎", "やまだ さぶろう", "サブ", false));
+
+    StudentNameIndex updated = sut.withStudents(replacements);
+
+    assertThat(updated.search("やまだ", false)).extracting(Match::studentId)
+        .containsExactly("s5", "s2");
+    assertThat(updated.search("さとう", false)).extracting(Match::studentId)
+        .containsExactly("s1");
+    assertThat(updated.size()).isEqualTo(4);
+    assertThat(sut.search("やまだ", false)).extracting(Match::studentId)
+        .containsExactly("s3", "s1", "s2");
+  }
+
+  @Test
+  void 差分が上限を超えた場合も索引を作り直して同じ結果を返すこと() {
+    Map<String, Student> replacements = new HashMap<>();
+    for (int i = 0; i <= StudentNameIndex.MAX_OVERRIDES; i++) {
+      String studentId = String.format("n%05d", i);
+      replacements.put(studentId, student(studentId, "鈴木 " + i, "すずき", "スー", false));
+    }
+
+    StudentNameIndex updated = sut.withStudents(replacements);
+
+    assertThat(updated.size()).isEqualTo(4 + StudentNameIndex.MAX_OVERRIDES + 1);
+    assertThat(updated.search("すずき", false)).hasSize(StudentNameIndex.MAX_OVERRIDES + 1);
+    assertThat(updated.search("山田", false)).hasSize(3);
+  }
+
+  private static Student student(String studentId, String fullName, String furiganaName,
+      String nickName, boolean deleted) {
+    return new Student(studentId, fullName, furiganaName, nickName, "090-0000-0000",
+        studentId + "@example.com", "渋谷区", 30, "male", "会社員", null, deleted);
+  }
+}